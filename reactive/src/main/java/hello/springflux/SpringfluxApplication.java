@@ -0,0 +1,13 @@
+package hello.springflux;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class SpringfluxApplication {
+
+	public static void main(String[] args) {
+		SpringApplication.run(SpringfluxApplication.class, args);
+	}
+
+}
@@ -0,0 +1,99 @@
+package hello.springflux.basic;
+
+import hello.springflux.basic.request.RequestBodyHandler;
+import hello.springflux.basic.request.RequestHeaderHandler;
+import hello.springflux.basic.request.RequestParamHandler;
+import hello.springflux.basic.requestmapping.MappingHandler;
+import hello.springflux.basic.response.ResponseBodyHandler;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.RequestPredicate;
+import org.springframework.web.reactive.function.server.RequestPredicates;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import java.util.Arrays;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.*;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+/**
+ * hello.springmvc.basic.* 컨트롤러와 같은 URL 계약을 함수형 라우팅(RouterFunction)으로 매핑
+ * - @RequestMapping의 method, params, headers, consumes, produces 조건은 RequestPredicate로 표현
+ * - 같은 계약의 v1 ~ vN URL은 하나의 핸들러 함수로 매핑
+ * - 라우트는 선언 순서대로 매칭되므로 구체적인 경로('/mapping/users')를 먼저 선언해야 함.
+ */
+@Configuration
+public class BasicRouter {
+
+    @Bean
+    public RouterFunction<ServerResponse> logTestRoutes(LogTestHandler handler) {
+        return route()
+                .GET("/log-test", handler::logTest)
+                .build();
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> mappingRoutes(MappingHandler handler) {
+        return route()
+                .GET("/mapping/users", handler::users)
+                .POST("/mapping/users", handler::addUser)
+                .GET("/mapping/users/{userId}", handler::findUser)
+                .PATCH("/mapping/users/{userId}", handler::updateUser)
+                .DELETE("/mapping/users/{userId}", handler::deleteUser)
+                .route(paths("/hello-basic", "/hello-go"), handler::helloBasic)
+                .GET("/mapping-get-v1", handler::mappingGet)
+                .GET("/mapping-get-v2", handler::mappingGet)
+                .GET("/mapping/{userId}", handler::mappingPath)
+                .GET("/mapping/users/{userId}/orders/{orderId}", handler::mappingPathOrder)
+                .GET("/mapping-param", queryParam("mode", "debug"::equals), handler::mappingParam)
+                .GET("/mapping-header", headers(requestHeaders -> requestHeaders.header("mode").contains("debug")), handler::mappingHeader)
+                .POST("/mapping-consume", contentType(MediaType.APPLICATION_JSON), handler::mappingConsumes)
+                .POST("/mapping-produce", accept(MediaType.TEXT_PLAIN), handler::mappingProduces)
+                .build();
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> requestRoutes(RequestHeaderHandler headerHandler,
+                                                        RequestParamHandler paramHandler,
+                                                        RequestBodyHandler bodyHandler) {
+        return route()
+                .route(path("/headers"), headerHandler::headers)
+                .route(path("/request-param-v1"), paramHandler::requestParamV1)
+                .route(paths("/request-param-v2", "/request-param-v3", "/request-param-v4"), paramHandler::requestParam)
+                .route(path("/request-param-required"), paramHandler::requestParamRequired)
+                .route(path("/request-param-default"), paramHandler::requestParamDefault)
+                .route(path("/request-param-map"), paramHandler::requestParamMap)
+                .route(paths("/model-attribute-v1", "/model-attribute-v2"), paramHandler::modelAttribute)
+                .POST("/request-body-string-v1", bodyHandler::requestBodyString)
+                .POST("/request-body-string-v2", bodyHandler::requestBodyString)
+                .POST("/request-body-string-v3", bodyHandler::requestBodyString)
+                .POST("/request-body-string-v3-2", bodyHandler::requestBodyStringCreated)
+                .POST("/request-body-string-v4", bodyHandler::requestBodyStringWithHeaders)
+                .POST("/request-body-json-v1", bodyHandler::requestBodyJsonStream)
+                .POST("/request-body-json-v2", bodyHandler::requestBodyJsonString)
+                .POST("/request-body-json-v3", bodyHandler::requestBodyJson)
+                .POST("/request-body-json-v4", bodyHandler::requestBodyJsonEntity)
+                .POST("/request-body-json-v5", bodyHandler::requestBodyJsonEcho)
+                .build();
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> responseRoutes(ResponseBodyHandler handler) {
+        return route()
+                .GET("/response-body-string-v1", handler::responseBodyString)
+                .GET("/response-body-string-v2", handler::responseBodyString)
+                .GET("/response-body-string-v3", handler::responseBodyString)
+                .GET("/response-body-json-v1", handler::responseBodyJson)
+                .GET("/response-body-json-v2", handler::responseBodyJson)
+                .build();
+    }
+
+    private static RequestPredicate paths(String... patterns) {
+        return Arrays.stream(patterns)
+                .map(RequestPredicates::path)
+                .reduce(RequestPredicate::or)
+                .orElseThrow();
+    }
+}
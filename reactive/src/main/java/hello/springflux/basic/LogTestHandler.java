@@ -0,0 +1,27 @@
+package hello.springflux.basic;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+/**
+ * hello.springmvc.basic.LogTestController와 같은 계약의 함수형 핸들러
+ */
+@Slf4j
+@Component
+public class LogTestHandler {
+
+    public Mono<ServerResponse> logTest(ServerRequest request) {
+        String name = "spring";
+
+        log.trace("[trace] name = {}", name);
+        log.debug("[debug] name = {}", name);
+        log.info("[info] name = {}", name);
+        log.warn("[warn] name = {}", name);
+        log.error("[error] name = {}", name);
+
+        return ServerResponse.ok().bodyValue("ok");
+    }
+}
@@ -0,0 +1,133 @@
+package hello.springflux.basic.request;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.springmvc.basic.HelloData;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Mono;
+
+/**
+ * hello.springmvc.basic.request.RequestBodyStringController, RequestBodyJsonController와 같은 계약의 함수형 핸들러
+ * 메시지 바디는 bodyToMono()로 논블로킹으로 읽음.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RequestBodyHandler {
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * '/request-body-string-v1' ~ '/request-body-string-v3'
+     */
+    public Mono<ServerResponse> requestBodyString(ServerRequest request) {
+        return messageBody(request).flatMap(messageBody -> {
+            log.info("messageBody = {}", messageBody);
+
+            return ServerResponse.ok().bodyValue("ok");
+        });
+    }
+
+    /**
+     * '/request-body-string-v3-2' : 201 Created 응답
+     */
+    public Mono<ServerResponse> requestBodyStringCreated(ServerRequest request) {
+        return messageBody(request).flatMap(messageBody -> {
+            log.info("messageBody = {}", messageBody);
+
+            return ServerResponse.status(HttpStatus.CREATED).bodyValue("ok");
+        });
+    }
+
+    /**
+     * '/request-body-string-v4' : 헤더 정보도 함께 조회, @RequestBody와 같이 바디가 없으면 400
+     */
+    public Mono<ServerResponse> requestBodyStringWithHeaders(ServerRequest request) {
+        return requiredBody(request, String.class).flatMap(messageBody -> {
+            log.info("headers = {}", request.headers().asHttpHeaders());
+            log.info("messageBody = {}", messageBody);
+
+            return ServerResponse.ok().bodyValue("ok");
+        });
+    }
+
+    /**
+     * '/request-body-json-v1' : 문자열로 읽은 후 ObjectMapper로 변환(Content-Type 무관)
+     * 바디가 없거나 JSON이 아니면 변환 예외가 그대로 전파되어 500
+     */
+    public Mono<ServerResponse> requestBodyJsonStream(ServerRequest request) {
+        return messageBody(request).flatMap(this::readHelloDataAndRespond);
+    }
+
+    /**
+     * '/request-body-json-v2' : @RequestBody String과 같이 바디가 없으면 400, JSON이 아니면 500
+     */
+    public Mono<ServerResponse> requestBodyJsonString(ServerRequest request) {
+        return requiredBody(request, String.class).flatMap(this::readHelloDataAndRespond);
+    }
+
+    /**
+     * '/request-body-json-v3' : HttpMessageReader(Jackson2JsonDecoder)로 바로 HelloData 변환, 바디가 없으면 400
+     */
+    public Mono<ServerResponse> requestBodyJson(ServerRequest request) {
+        return requiredBody(request, HelloData.class).flatMap(helloData -> {
+            log.info("username = {}, age = {}", helloData.getUsername(), helloData.getAge());
+
+            return ServerResponse.ok().bodyValue("ok");
+        });
+    }
+
+    /**
+     * '/request-body-json-v4' : HttpEntity<HelloData>는 바디가 없으면 null이 전달되어 핸들러에서 500
+     */
+    public Mono<ServerResponse> requestBodyJsonEntity(ServerRequest request) {
+        return request.bodyToMono(HelloData.class)
+                .switchIfEmpty(Mono.error(() -> new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Request body is null")))
+                .flatMap(helloData -> {
+                    log.info("username = {}, age = {}", helloData.getUsername(), helloData.getAge());
+
+                    return ServerResponse.ok().bodyValue("ok");
+                });
+    }
+
+    /**
+     * '/request-body-json-v5' : 받은 객체를 그대로 JSON으로 응답, 바디가 없으면 400
+     */
+    public Mono<ServerResponse> requestBodyJsonEcho(ServerRequest request) {
+        return requiredBody(request, HelloData.class).flatMap(helloData -> {
+            log.info("username = {}, age = {}", helloData.getUsername(), helloData.getAge());
+
+            return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(helloData);
+        });
+    }
+
+    private Mono<String> messageBody(ServerRequest request) {
+        return request.bodyToMono(String.class).defaultIfEmpty("");
+    }
+
+    /**
+     * 스프링 MVC의 @RequestBody(required = true)와 같이 바디가 없으면 400
+     */
+    private <T> Mono<T> requiredBody(ServerRequest request, Class<T> type) {
+        return request.bodyToMono(type)
+                .switchIfEmpty(Mono.error(() -> new ServerWebInputException("Required request body is missing")));
+    }
+
+    private Mono<ServerResponse> readHelloDataAndRespond(String messageBody) {
+        log.info("messagBody = {}", messageBody);
+
+        return Mono.fromCallable(() -> objectMapper.readValue(messageBody, HelloData.class))
+                .flatMap(helloData -> {
+                    log.info("username = {}, age = {}", helloData.getUsername(), helloData.getAge());
+
+                    return ServerResponse.ok().bodyValue("ok");
+                });
+    }
+}
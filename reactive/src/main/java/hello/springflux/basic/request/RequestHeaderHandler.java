@@ -0,0 +1,30 @@
+package hello.springflux.basic.request;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpCookie;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+/**
+ * hello.springmvc.basic.request.RequestHeaderController와 같은 계약의 함수형 핸들러
+ */
+@Slf4j
+@Component
+public class RequestHeaderHandler {
+
+    public Mono<ServerResponse> headers(ServerRequest request) {
+        HttpHeaders headerMap = request.headers().asHttpHeaders();
+        HttpCookie cookie = request.cookies().getFirst("myCookie");
+
+        log.info("httpMethod = {}", request.method());
+        log.info("locale = {}", request.exchange().getLocaleContext().getLocale());
+        log.info("headerMap = {}", headerMap);
+        log.info("host = {}", headerMap.getFirst(HttpHeaders.HOST));
+        log.info("cookie = {}", cookie == null ? null : cookie.getValue());
+
+        return ServerResponse.ok().bodyValue("ok");
+    }
+}
@@ -0,0 +1,132 @@
+package hello.springflux.basic.request;
+
+import hello.springmvc.basic.HelloData;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Mono;
+
+/**
+ * hello.springmvc.basic.request.RequestParamController와 같은 계약의 함수형 핸들러
+ * 서블릿의 요청 파라미터처럼 쿼리 파라미터와 HTML Form(application/x-www-form-urlencoded) 데이터를 함께 조회함.
+ */
+@Slf4j
+@Component
+public class RequestParamHandler {
+
+    /**
+     * '/request-param-v1' : request.getParameter()와 Integer.parseInt()를 직접 사용하는 것과 같이
+     * username이 없으면 null, age가 없거나 숫자가 아니면 NumberFormatException이 그대로 전파되어 500
+     */
+    public Mono<ServerResponse> requestParamV1(ServerRequest request) {
+        return params(request).flatMap(params -> {
+            String username = params.getFirst("username");
+            int age = Integer.parseInt(params.getFirst("age"));
+            log.info("username = {}, age = {}", username, age);
+
+            return ServerResponse.ok().bodyValue("ok");
+        });
+    }
+
+    /**
+     * '/request-param-v2' ~ '/request-param-v4' : username, age 모두 필수(없거나 변환할 수 없으면 400)
+     */
+    public Mono<ServerResponse> requestParam(ServerRequest request) {
+        return params(request).flatMap(params -> {
+            String username = required(params, "username");
+            int age = parseInt("age", required(params, "age"));
+            log.info("username = {}, age = {}", username, age);
+
+            return ServerResponse.ok().bodyValue("ok");
+        });
+    }
+
+    public Mono<ServerResponse> requestParamRequired(ServerRequest request) {
+        return params(request).flatMap(params -> {
+            String username = required(params, "username");
+            String ageValue = params.getFirst("age");
+            Integer age = ageValue == null ? null : parseInt("age", ageValue);
+            log.info("username = {}, age = {}", username, age);
+
+            return ServerResponse.ok().bodyValue("ok");
+        });
+    }
+
+    /**
+     * defaultValue는 파라미터가 없거나 빈 문자인 경우에 적용됨.
+     */
+    public Mono<ServerResponse> requestParamDefault(ServerRequest request) {
+        return params(request).flatMap(params -> {
+            String username = defaultIfEmpty(params.getFirst("username"), "guest");
+            int age = parseInt("age", defaultIfEmpty(params.getFirst("age"), "-1"));
+            log.info("username = {}, age = {}", username, age);
+
+            return ServerResponse.ok().bodyValue("ok");
+        });
+    }
+
+    public Mono<ServerResponse> requestParamMap(ServerRequest request) {
+        return params(request).flatMap(params -> {
+            log.info("username = {}, age = {}", params.getFirst("username"), params.getFirst("age"));
+
+            return ServerResponse.ok().bodyValue("ok");
+        });
+    }
+
+    /**
+     * '/model-attribute-v1', '/model-attribute-v2' : 요청 파라미터를 HelloData 프로퍼티에 바인딩
+     */
+    public Mono<ServerResponse> modelAttribute(ServerRequest request) {
+        return params(request).flatMap(params -> {
+            HelloData helloData = new HelloData();
+            helloData.setUsername(params.getFirst("username"));
+            String ageValue = params.getFirst("age");
+            if (StringUtils.hasText(ageValue)) {
+                helloData.setAge(parseInt("age", ageValue));
+            }
+            log.info("username = {}, age = {}", helloData.getUsername(), helloData.getAge());
+            log.info("helloData = {}", helloData);
+
+            return ServerResponse.ok().bodyValue("ok");
+        });
+    }
+
+    private Mono<MultiValueMap<String, String>> params(ServerRequest request) {
+        MediaType contentType = request.headers().contentType().orElse(null);
+        if (contentType == null || !MediaType.APPLICATION_FORM_URLENCODED.isCompatibleWith(contentType)) {
+            return Mono.just(request.queryParams());
+        }
+
+        return request.formData().map(formData -> {
+            MultiValueMap<String, String> params = new LinkedMultiValueMap<>(request.queryParams());
+            params.addAll(formData);
+            return params;
+        });
+    }
+
+    private String required(MultiValueMap<String, String> params, String name) {
+        String value = params.getFirst(name);
+        if (value == null) {
+            throw new ServerWebInputException("Required request parameter '" + name + "' is not present");
+        }
+        return value;
+    }
+
+    private int parseInt(String name, String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new ServerWebInputException("Invalid request parameter '" + name + "': " + value);
+        }
+    }
+
+    private String defaultIfEmpty(String value, String defaultValue) {
+        return StringUtils.hasLength(value) ? value : defaultValue;
+    }
+}
@@ -0,0 +1,98 @@
+package hello.springflux.basic.requestmapping;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Mono;
+
+/**
+ * hello.springmvc.basic.requestmapping.MappingController, MappingClassController와 같은 계약의 함수형 핸들러
+ * URL, HTTP 메소드, 파라미터, 헤더, 미디어 타입 조건은 BasicRouter의 RequestPredicate로 매핑함.
+ */
+@Slf4j
+@Component
+public class MappingHandler {
+
+    public Mono<ServerResponse> helloBasic(ServerRequest request) {
+        log.info("helloBasic");
+
+        return ServerResponse.ok().bodyValue("ok");
+    }
+
+    public Mono<ServerResponse> mappingGet(ServerRequest request) {
+        log.info("mappingGet path = {}", request.path());
+
+        return ServerResponse.ok().bodyValue("ok");
+    }
+
+    public Mono<ServerResponse> mappingPath(ServerRequest request) {
+        log.info("mappingPath userId = {}", request.pathVariable("userId"));
+
+        return ServerResponse.ok().bodyValue("ok");
+    }
+
+    public Mono<ServerResponse> mappingPathOrder(ServerRequest request) {
+        String userId = request.pathVariable("userId");
+        Long orderId = parseLong(request.pathVariable("orderId"));
+        log.info("mappingPath userId = {}, orderId = {}", userId, orderId);
+
+        return ServerResponse.ok().bodyValue("ok");
+    }
+
+    public Mono<ServerResponse> mappingParam(ServerRequest request) {
+        log.info("mappingParam");
+
+        return ServerResponse.ok().bodyValue("ok");
+    }
+
+    public Mono<ServerResponse> mappingHeader(ServerRequest request) {
+        log.info("mappingHeader");
+
+        return ServerResponse.ok().bodyValue("ok");
+    }
+
+    public Mono<ServerResponse> mappingConsumes(ServerRequest request) {
+        log.info("mappingConsumes");
+
+        return ServerResponse.ok().bodyValue("ok");
+    }
+
+    public Mono<ServerResponse> mappingProduces(ServerRequest request) {
+        log.info("mappingProduces");
+
+        return ServerResponse.ok().bodyValue("ok");
+    }
+
+    /**
+     * 요청 매핑 - API('/mapping/users')
+     */
+    public Mono<ServerResponse> users(ServerRequest request) {
+        return ServerResponse.ok().bodyValue("get users");
+    }
+
+    public Mono<ServerResponse> addUser(ServerRequest request) {
+        return ServerResponse.ok().bodyValue("post user");
+    }
+
+    public Mono<ServerResponse> findUser(ServerRequest request) {
+        return ServerResponse.ok().bodyValue("get userId = " + request.pathVariable("userId"));
+    }
+
+    public Mono<ServerResponse> updateUser(ServerRequest request) {
+        return ServerResponse.ok().bodyValue("update userId = " + request.pathVariable("userId"));
+    }
+
+    public Mono<ServerResponse> deleteUser(ServerRequest request) {
+        return ServerResponse.ok().bodyValue("delete userId = " + request.pathVariable("userId"));
+    }
+
+    private Long parseLong(String value) {
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new ServerWebInputException("Invalid path variable: " + value);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package hello.springflux.basic.response;
+
+import hello.springmvc.basic.HelloData;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+/**
+ * hello.springmvc.basic.response.ResponseBodyController와 같은 계약의 함수형 핸들러
+ */
+@Component
+public class ResponseBodyHandler {
+
+    /**
+     * '/response-body-string-v1' ~ '/response-body-string-v3'
+     */
+    public Mono<ServerResponse> responseBodyString(ServerRequest request) {
+        return ServerResponse.ok().bodyValue("ok");
+    }
+
+    /**
+     * '/response-body-json-v1', '/response-body-json-v2'
+     */
+    public Mono<ServerResponse> responseBodyJson(ServerRequest request) {
+        HelloData helloData = new HelloData();
+        helloData.setUsername("userA");
+        helloData.setAge(20);
+
+        return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(helloData);
+    }
+}
@@ -0,0 +1,13 @@
+package hello.springflux;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+class SpringfluxApplicationTests {
+
+	@Test
+	void contextLoads() {
+	}
+
+}
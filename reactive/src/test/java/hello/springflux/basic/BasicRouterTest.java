@@ -0,0 +1,76 @@
+package hello.springflux.basic;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+/**
+ * hello.springmvc.basic.* 컨트롤러와 같은 응답 상태 코드를 반환하는지 확인
+ */
+@SpringBootTest
+@AutoConfigureWebTestClient
+class BasicRouterTest {
+
+    @Autowired
+    WebTestClient webTestClient;
+
+    @Test
+    void requestParamV1WithoutAgeIsServerError() {
+        webTestClient.get().uri("/request-param-v1?username=hello").exchange()
+                .expectStatus().isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
+    @Test
+    void requestParamV2WithoutAgeIsBadRequest() {
+        webTestClient.get().uri("/request-param-v2?username=hello").exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void requestParam() {
+        webTestClient.get().uri("/request-param-v1?username=hello&age=20").exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("ok");
+    }
+
+    @Test
+    void requestBodyJsonWithoutBodyIsBadRequest() {
+        postWithoutBody("/request-body-json-v2").expectStatus().isBadRequest();
+        postWithoutBody("/request-body-json-v3").expectStatus().isBadRequest();
+        postWithoutBody("/request-body-json-v5").expectStatus().isBadRequest();
+        postWithoutBody("/request-body-string-v4").expectStatus().isBadRequest();
+    }
+
+    @Test
+    void requestBodyReadDirectlyWithoutBody() {
+        postWithoutBody("/request-body-string-v1").expectStatus().isOk();
+        postWithoutBody("/request-body-json-v1").expectStatus().isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+        postWithoutBody("/request-body-json-v4").expectStatus().isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
+    @Test
+    void requestBodyJsonEcho() {
+        webTestClient.post().uri("/request-body-json-v5")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"username\":\"hello\", \"age\":20}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.username").isEqualTo("hello")
+                .jsonPath("$.age").isEqualTo(20);
+    }
+
+    @Test
+    void servletApplicationStaticResourcesAreNotServed() {
+        webTestClient.get().uri("/index.html").exchange()
+                .expectStatus().isNotFound();
+    }
+
+    private WebTestClient.ResponseSpec postWithoutBody(String uri) {
+        return webTestClient.post().uri(uri).contentType(MediaType.APPLICATION_JSON).exchange();
+    }
+}
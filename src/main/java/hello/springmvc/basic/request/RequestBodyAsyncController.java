@@ -0,0 +1,102 @@
+package hello.springmvc.basic.request;
+
+import hello.springmvc.basic.HelloData;
+import hello.springmvc.config.AsyncConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * RequestBodyStringController, RequestBodyJsonController의 비동기 버전
+ * - 핸들러는 CompletableFuture 또는 DeferredResult를 반환하고 Tomcat 워커 스레드는 즉시 반환됨.
+ * - 실제 처리는 AsyncConfig의 전용 스레드 풀(requestBodyExecutor)에서 수행되고, 처리가 끝나면 응답이 전송됨.
+ * - 스레드 풀의 대기 큐가 가득 차면 503 응답(back-pressure)
+ * - 타임아웃(hello.async.timeout-ms) 안에 처리가 끝나지 않아도 503 응답
+ * <p>
+ * ReadListener를 사용한 논블로킹 바디 읽기는 RequestBodyNonBlockingServlet 참고
+ */
+@Slf4j
+@RestController
+public class RequestBodyAsyncController {
+
+    private final TaskExecutor executor;
+    private final long timeoutMs;
+
+    public RequestBodyAsyncController(@Qualifier(AsyncConfig.REQUEST_BODY_EXECUTOR) TaskExecutor executor,
+                                      @Value("${hello.async.timeout-ms:3000}") long timeoutMs) {
+        this.executor = executor;
+        this.timeoutMs = timeoutMs;
+    }
+
+    /**
+     * HTTP 메시지 바디로 넘어온 문자열을 비동기로 처리 : CompletableFuture 사용
+     *
+     * @param messageBody
+     * @return
+     */
+    @PostMapping("/request-body-string-async-v1")
+    public CompletableFuture<String> requestBodyStringAsyncV1(@RequestBody String messageBody) {
+        return CompletableFuture.supplyAsync(() -> {
+            log.info("messageBody = {}", messageBody);
+
+            return "ok";
+        }, executor);
+    }
+
+    /**
+     * HTTP 메시지 바디로 넘어온 JSON을 비동기로 처리 : CompletableFuture 사용
+     *
+     * @param helloData
+     * @return
+     */
+    @PostMapping("/request-body-json-async-v1")
+    public CompletableFuture<HelloData> requestBodyJsonAsyncV1(@RequestBody HelloData helloData) {
+        return CompletableFuture.supplyAsync(() -> {
+            log.info("username = {}, age = {}", helloData.getUsername(), helloData.getAge());
+
+            return helloData;
+        }, executor);
+    }
+
+    /**
+     * HTTP 메시지 바디로 넘어온 JSON을 비동기로 처리 : DeferredResult 사용
+     * - 결과를 설정(setResult)하는 시점과 스레드를 직접 제어할 수 있음.
+     *
+     * @param helloData
+     * @return
+     */
+    @PostMapping("/request-body-json-async-v2")
+    public DeferredResult<HelloData> requestBodyJsonAsyncV2(@RequestBody HelloData helloData) {
+        DeferredResult<HelloData> result = new DeferredResult<>(timeoutMs);
+        result.onTimeout(() -> result.setErrorResult(
+                new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "request body processing timed out")));
+
+        executor.execute(() -> {
+            log.info("username = {}, age = {}", helloData.getUsername(), helloData.getAge());
+
+            result.setResult(helloData);
+        });
+
+        return result;
+    }
+
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    @ExceptionHandler(TaskRejectedException.class)
+    public String rejected(TaskRejectedException e) {
+        log.warn("request body executor is full: {}", e.getMessage());
+
+        return "busy";
+    }
+}
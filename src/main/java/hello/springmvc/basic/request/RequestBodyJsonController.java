@@ -1,7 +1,8 @@
 package hello.springmvc.basic.request;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import hello.springmvc.basic.HelloData;
+import hello.springmvc.codec.CodecRegistry;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpEntity;
 import org.springframework.stereotype.Controller;
@@ -22,12 +23,16 @@ import java.nio.charset.StandardCharsets;
  */
 @Slf4j
 @Controller
+@RequiredArgsConstructor
 public class RequestBodyJsonController {
 
-    private ObjectMapper objectMapper = new ObjectMapper();
+    /**
+     * 스프링이 설정한 ObjectMapper로 만든 타입별 ObjectReader를 모든 요청에서 공유
+     */
+    private final CodecRegistry codecRegistry;
 
     /**
-     * HTTP message body로 전달된 JSON을 처리하는 방법 : HttpServletRequest, ObjectMapper 사용
+     * HTTP message body로 전달된 JSON을 처리하는 방법 : HttpServletRequest, ObjectReader 사용
      * 응답에는 HttpServletResponse 사용
      *
      * @param request
@@ -41,14 +46,14 @@ public class RequestBodyJsonController {
 
         log.info("messagBody = {}", messageBody);
 
-        HelloData helloData = objectMapper.readValue(messageBody, HelloData.class);
+        HelloData helloData = codecRegistry.reader(HelloData.class).readValue(messageBody);
         log.info("username = {}, age = {}", helloData.getUsername(), helloData.getAge());
 
         response.getWriter().write("ok");
     }
 
     /**
-     * HTTP message body로 전달된 JSON을 처리하는 방법 : @RequestBody, ObjectMapper 사용
+     * HTTP message body로 전달된 JSON을 처리하는 방법 : @RequestBody, ObjectReader 사용
      * 응답에는 @ResponseBody 사용
      *
      * @param messageBody
@@ -60,7 +65,7 @@ public class RequestBodyJsonController {
     public String requestBodyJsonV2(@RequestBody String messageBody) throws IOException {
         log.info("messagBody = {}", messageBody);
 
-        HelloData helloData = objectMapper.readValue(messageBody, HelloData.class);
+        HelloData helloData = codecRegistry.reader(HelloData.class).readValue(messageBody);
         log.info("username = {}, age = {}", helloData.getUsername(), helloData.getAge());
 
         return "ok";
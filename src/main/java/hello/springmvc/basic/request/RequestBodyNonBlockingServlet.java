@@ -0,0 +1,161 @@
+package hello.springmvc.basic.request;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * HTTP 메시지 바디로 넘어온 데이터 읽는 방법 : ReadListener 이용(Servlet 3.1 논블로킹 I/O)
+ * - request.startAsync()로 비동기 모드로 전환한 후, 데이터가 도착할 때마다 onDataAvailable()이 호출됨.
+ * - 바디를 다 읽을 때까지 Tomcat 워커 스레드를 점유하지 않음.
+ * - 바디를 다 읽으면(onAllDataRead) 전용 스레드 풀에서 처리하고 응답, 스레드 풀이 가득 차면 503 응답
+ * - timeoutMs 안에 응답하지 못하면 503, 바디가 maxBodySize를 넘으면 413 응답
+ * <p>
+ * 응답은 작업 스레드, 타임아웃, 오류 중 먼저 도착한 한 곳에서만 쓰고 complete()함.
+ * (컨테이너가 요청 객체를 재사용하기 때문에 이미 끝난 요청의 응답에 쓰면 다른 요청의 응답에 섞일 수 있음)
+ * <p>
+ * AsyncConfig에서 '/request-body-string-async-v3'로 등록
+ */
+@Slf4j
+public class RequestBodyNonBlockingServlet extends HttpServlet {
+
+    private static final int BUFFER_SIZE = 4096;
+
+    private final TaskExecutor executor;
+    private final long timeoutMs;
+    private final int maxBodySize;
+
+    public RequestBodyNonBlockingServlet(TaskExecutor executor, long timeoutMs, int maxBodySize) {
+        this.executor = executor;
+        this.timeoutMs = timeoutMs;
+        this.maxBodySize = maxBodySize;
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (request.getContentLengthLong() > maxBodySize) {
+            response.sendError(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+            return;
+        }
+
+        AsyncContext asyncContext = request.startAsync();
+        asyncContext.setTimeout(timeoutMs);
+
+        BodyReader reader = new BodyReader(asyncContext, request.getInputStream(), response);
+        asyncContext.addListener(reader);
+        request.getInputStream().setReadListener(reader);
+    }
+
+    private class BodyReader implements ReadListener, AsyncListener {
+
+        private final AsyncContext asyncContext;
+        private final ServletInputStream inputStream;
+        private final HttpServletResponse response;
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private final AtomicBoolean finished = new AtomicBoolean();
+
+        BodyReader(AsyncContext asyncContext, ServletInputStream inputStream, HttpServletResponse response) {
+            this.asyncContext = asyncContext;
+            this.inputStream = inputStream;
+            this.response = response;
+        }
+
+        @Override
+        public void onDataAvailable() throws IOException {
+            // isReady()가 false를 반환하면 다음 데이터가 도착했을 때 다시 호출됨.
+            int length;
+            while (inputStream.isReady() && (length = inputStream.read(buffer)) != -1) {
+                if (body.size() + length > maxBodySize) {
+                    finish(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE, null);
+                    return;
+                }
+                body.write(buffer, 0, length);
+            }
+        }
+
+        @Override
+        public void onAllDataRead() {
+            if (finished.get()) {
+                return;
+            }
+
+            String messageBody = body.toString(StandardCharsets.UTF_8);
+            try {
+                executor.execute(() -> {
+                    log.info("messageBody = {}", messageBody);
+                    finish(HttpServletResponse.SC_OK, "ok");
+                });
+            } catch (TaskRejectedException e) {
+                finish(HttpServletResponse.SC_SERVICE_UNAVAILABLE, null);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            log.warn("request body read failed", t);
+            finish(HttpServletResponse.SC_BAD_REQUEST, null);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            finish(HttpServletResponse.SC_SERVICE_UNAVAILABLE, null);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            finish(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, null);
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            // 정상 종료 외의 경로(연결 종료 등)로 끝난 경우에도 작업 스레드가 더 이상 응답에 쓰지 않도록 함
+            finished.set(true);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+
+        /**
+         * 처음 호출한 쪽만 응답을 쓰고 complete()함.
+         *
+         * @param messageBody null이면 상태 코드만 응답
+         */
+        private void finish(int status, String messageBody) {
+            if (!finished.compareAndSet(false, true)) {
+                return;
+            }
+
+            try {
+                if (messageBody == null) {
+                    response.sendError(status);
+                } else {
+                    response.setStatus(status);
+                    response.getWriter().write(messageBody);
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.warn("response write failed", e);
+            } finally {
+                try {
+                    asyncContext.complete();
+                } catch (IllegalStateException e) {
+                    log.debug("async context already completed", e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,361 @@
+package hello.springmvc.basic.store;
+
+import hello.springmvc.basic.HelloData;
+import org.springframework.stereotype.Component;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * HelloData를 컬럼 단위로 저장하는 메모리 저장소
+ * - age는 고정 크기 세그먼트의 int[]에 그대로 저장(객체/박싱 없음)
+ * - username은 사전(dictionary)으로 중복 제거 후 int id만 세그먼트에 저장
+ * - 집계는 세그먼트 단위로 나누어 ForkJoin 병렬 스캔으로 수행
+ * <p>
+ * 쓰기는 synchronized로 직렬화하고, 세그먼트의 size를 volatile로 공개하기 때문에
+ * 읽기(집계)는 락 없이 그 시점까지 공개된 데이터만 스캔한다.
+ */
+@Component
+public class HelloDataColumnStore {
+
+    static final int SEGMENT_SIZE = 4096;
+    static final int NO_USERNAME = -1;
+    static final int MAX_DENSE_BUCKETS = 1024;
+
+    private final List<Segment> segments = new CopyOnWriteArrayList<>();
+    private final Map<String, Integer> dictionary = new HashMap<>();
+    private final ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    public synchronized void add(HelloData helloData) {
+        Segment tail = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+        if (tail == null || tail.size == SEGMENT_SIZE) {
+            tail = new Segment();
+            segments.add(tail);
+        }
+
+        int index = tail.size;
+        tail.ages[index] = helloData.getAge();
+        tail.usernameIds[index] = usernameId(helloData.getUsername());
+        tail.size = index + 1; // volatile write 이후에 읽기 쪽에서 값이 보임
+    }
+
+    public void addAll(List<HelloData> helloDataList) {
+        for (HelloData helloData : helloDataList) {
+            add(helloData);
+        }
+    }
+
+    public long count() {
+        long count = 0;
+        for (Segment segment : segments) {
+            count += segment.size;
+        }
+        return count;
+    }
+
+    public HelloDataStats stats() {
+        Segment[] snapshot = snapshot();
+        return pool.invoke(new StatsTask(snapshot, sizesOf(snapshot), 0, snapshot.length)).toStats();
+    }
+
+    /**
+     * 나이 구간별 건수
+     * age는 int 전체 범위를 받을 수 있기 때문에 구간 수가 MAX_DENSE_BUCKETS 이하이면 배열로,
+     * 그보다 많으면(ex) 0과 2_000_000_000이 함께 있는 경우) 실제로 값이 있는 구간만 Map으로 센다.
+     *
+     * @param bucketSize 구간 크기(ex) 10 -> 0~9, 10~19, ...)
+     * @return key=구간 시작 나이, value=건수
+     */
+    public Map<Long, Long> histogram(int bucketSize) {
+        if (bucketSize <= 0) {
+            throw new IllegalArgumentException("bucketSize must be positive: " + bucketSize);
+        }
+
+        Segment[] snapshot = snapshot();
+        int[] sizes = sizesOf(snapshot);
+        StatsAccumulator stats = pool.invoke(new StatsTask(snapshot, sizes, 0, snapshot.length));
+
+        Map<Long, Long> histogram = new LinkedHashMap<>();
+        if (stats.count == 0) {
+            return histogram;
+        }
+
+        int firstBucket = Math.floorDiv(stats.min, bucketSize);
+        int lastBucket = Math.floorDiv(stats.max, bucketSize);
+        long bucketCount = (long) lastBucket - firstBucket + 1;
+
+        if (bucketCount <= MAX_DENSE_BUCKETS) {
+            long[] counts = pool.invoke(new DenseHistogramTask(snapshot, sizes, 0, snapshot.length,
+                    bucketSize, firstBucket, (int) bucketCount));
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] > 0) {
+                    histogram.put((long) (firstBucket + i) * bucketSize, counts[i]);
+                }
+            }
+        } else {
+            Map<Integer, long[]> counts = pool.invoke(new SparseHistogramTask(snapshot, sizes, 0, snapshot.length, bucketSize));
+            counts.keySet().stream()
+                    .sorted()
+                    .forEach(bucket -> histogram.put((long) bucket * bucketSize, counts.get(bucket)[0]));
+        }
+        return histogram;
+    }
+
+    public int distinctUsernames() {
+        Segment[] snapshot = snapshot();
+        return pool.invoke(new DistinctTask(snapshot, sizesOf(snapshot), 0, snapshot.length)).cardinality();
+    }
+
+    public synchronized void clear() {
+        segments.clear();
+        dictionary.clear();
+    }
+
+    private int usernameId(String username) {
+        if (username == null) {
+            return NO_USERNAME;
+        }
+
+        Integer id = dictionary.get(username);
+        if (id == null) {
+            id = dictionary.size();
+            dictionary.put(username, id);
+        }
+        return id;
+    }
+
+    private Segment[] snapshot() {
+        return segments.toArray(new Segment[0]);
+    }
+
+    /**
+     * 스캔 도중 추가되는 데이터로 인해 태스크마다 결과가 달라지지 않도록 size를 한 번만 읽어 둔다.
+     */
+    private static int[] sizesOf(Segment[] snapshot) {
+        int[] sizes = new int[snapshot.length];
+        for (int i = 0; i < snapshot.length; i++) {
+            sizes[i] = snapshot[i].size;
+        }
+        return sizes;
+    }
+
+    private static final class Segment {
+        final int[] ages = new int[SEGMENT_SIZE];
+        final int[] usernameIds = new int[SEGMENT_SIZE];
+        volatile int size;
+    }
+
+    private static final class StatsAccumulator {
+        long count;
+        long sum;
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+
+        StatsAccumulator merge(StatsAccumulator other) {
+            count += other.count;
+            sum += other.sum;
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+            return this;
+        }
+
+        HelloDataStats toStats() {
+            if (count == 0) {
+                return new HelloDataStats(0, 0, 0, 0.0);
+            }
+            return new HelloDataStats(count, min, max, (double) sum / count);
+        }
+    }
+
+    /**
+     * 세그먼트 범위 [from, to)를 나누어 처리하는 공통 분할 로직
+     */
+    private abstract static class SegmentTask<T> extends RecursiveTask<T> {
+
+        final Segment[] segments;
+        final int[] sizes;
+        final int from;
+        final int to;
+
+        SegmentTask(Segment[] segments, int[] sizes, int from, int to) {
+            this.segments = segments;
+            this.sizes = sizes;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected T compute() {
+            if (to - from <= 1) {
+                return scan();
+            }
+
+            int mid = (from + to) >>> 1;
+            SegmentTask<T> left = subTask(from, mid);
+            left.fork();
+            T right = subTask(mid, to).compute();
+            return merge(left.join(), right);
+        }
+
+        abstract SegmentTask<T> subTask(int from, int to);
+
+        abstract T scan();
+
+        abstract T merge(T left, T right);
+    }
+
+    private static final class StatsTask extends SegmentTask<StatsAccumulator> {
+
+        StatsTask(Segment[] segments, int[] sizes, int from, int to) {
+            super(segments, sizes, from, to);
+        }
+
+        @Override
+        SegmentTask<StatsAccumulator> subTask(int from, int to) {
+            return new StatsTask(segments, sizes, from, to);
+        }
+
+        @Override
+        StatsAccumulator scan() {
+            StatsAccumulator acc = new StatsAccumulator();
+            for (int s = from; s < to; s++) {
+                int[] ages = segments[s].ages;
+                int size = sizes[s];
+                for (int i = 0; i < size; i++) {
+                    int age = ages[i];
+                    acc.sum += age;
+                    if (age < acc.min) {
+                        acc.min = age;
+                    }
+                    if (age > acc.max) {
+                        acc.max = age;
+                    }
+                }
+                acc.count += size;
+            }
+            return acc;
+        }
+
+        @Override
+        StatsAccumulator merge(StatsAccumulator left, StatsAccumulator right) {
+            return left.merge(right);
+        }
+    }
+
+    private static final class DenseHistogramTask extends SegmentTask<long[]> {
+
+        private final int bucketSize;
+        private final int firstBucket;
+        private final int bucketCount;
+
+        DenseHistogramTask(Segment[] segments, int[] sizes, int from, int to,
+                           int bucketSize, int firstBucket, int bucketCount) {
+            super(segments, sizes, from, to);
+            this.bucketSize = bucketSize;
+            this.firstBucket = firstBucket;
+            this.bucketCount = bucketCount;
+        }
+
+        @Override
+        SegmentTask<long[]> subTask(int from, int to) {
+            return new DenseHistogramTask(segments, sizes, from, to, bucketSize, firstBucket, bucketCount);
+        }
+
+        @Override
+        long[] scan() {
+            long[] counts = new long[bucketCount];
+            for (int s = from; s < to; s++) {
+                int[] ages = segments[s].ages;
+                int size = sizes[s];
+                for (int i = 0; i < size; i++) {
+                    counts[Math.floorDiv(ages[i], bucketSize) - firstBucket]++;
+                }
+            }
+            return counts;
+        }
+
+        @Override
+        long[] merge(long[] left, long[] right) {
+            for (int i = 0; i < left.length; i++) {
+                left[i] += right[i];
+            }
+            return left;
+        }
+    }
+
+    /**
+     * key=구간 번호, value=건수(long[1], 박싱 없이 증가시키기 위해 배열 사용)
+     */
+    private static final class SparseHistogramTask extends SegmentTask<Map<Integer, long[]>> {
+
+        private final int bucketSize;
+
+        SparseHistogramTask(Segment[] segments, int[] sizes, int from, int to, int bucketSize) {
+            super(segments, sizes, from, to);
+            this.bucketSize = bucketSize;
+        }
+
+        @Override
+        SegmentTask<Map<Integer, long[]>> subTask(int from, int to) {
+            return new SparseHistogramTask(segments, sizes, from, to, bucketSize);
+        }
+
+        @Override
+        Map<Integer, long[]> scan() {
+            Map<Integer, long[]> counts = new HashMap<>();
+            for (int s = from; s < to; s++) {
+                int[] ages = segments[s].ages;
+                int size = sizes[s];
+                for (int i = 0; i < size; i++) {
+                    counts.computeIfAbsent(Math.floorDiv(ages[i], bucketSize), bucket -> new long[1])[0]++;
+                }
+            }
+            return counts;
+        }
+
+        @Override
+        Map<Integer, long[]> merge(Map<Integer, long[]> left, Map<Integer, long[]> right) {
+            right.forEach((bucket, count) -> left.computeIfAbsent(bucket, key -> new long[1])[0] += count[0]);
+            return left;
+        }
+    }
+
+    private static final class DistinctTask extends SegmentTask<BitSet> {
+
+        DistinctTask(Segment[] segments, int[] sizes, int from, int to) {
+            super(segments, sizes, from, to);
+        }
+
+        @Override
+        SegmentTask<BitSet> subTask(int from, int to) {
+            return new DistinctTask(segments, sizes, from, to);
+        }
+
+        @Override
+        BitSet scan() {
+            BitSet seen = new BitSet();
+            for (int s = from; s < to; s++) {
+                int[] usernameIds = segments[s].usernameIds;
+                int size = sizes[s];
+                for (int i = 0; i < size; i++) {
+                    if (usernameIds[i] != NO_USERNAME) {
+                        seen.set(usernameIds[i]);
+                    }
+                }
+            }
+            return seen;
+        }
+
+        @Override
+        BitSet merge(BitSet left, BitSet right) {
+            left.or(right);
+            return left;
+        }
+    }
+}
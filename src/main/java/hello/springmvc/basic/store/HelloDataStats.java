@@ -0,0 +1,17 @@
+package hello.springmvc.basic.store;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * HelloDataColumnStore 집계 결과(데이터가 없으면 모든 값이 0)
+ */
+@Data
+@AllArgsConstructor
+public class HelloDataStats {
+
+    private long count;
+    private int minAge;
+    private int maxAge;
+    private double avgAge;
+}
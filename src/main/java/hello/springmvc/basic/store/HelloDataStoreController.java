@@ -0,0 +1,80 @@
+package hello.springmvc.basic.store;
+
+import hello.springmvc.basic.HelloData;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * HTTP 메시지 바디(JSON)로 받은 HelloData를 컬럼 저장소에 적재하고 집계하는 API
+ * <p>
+ * 적재 : POST '/hello-data-store' {"username":"hello", "age":20}
+ * 대량 적재 : POST '/hello-data-store/batch' [{"username":"hello", "age":20}, ...]
+ * 건수 : GET '/hello-data-store/count'
+ * 나이 통계(최소/최대/평균) : GET '/hello-data-store/stats'
+ * 나이 구간별 건수 : GET '/hello-data-store/histogram?bucketSize=10'
+ * 중복 제거한 username 수 : GET '/hello-data-store/distinct-usernames'
+ * 전체 삭제 : DELETE '/hello-data-store'
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/hello-data-store")
+public class HelloDataStoreController {
+
+    private final HelloDataColumnStore store;
+
+    @ResponseStatus(HttpStatus.CREATED)
+    @PostMapping
+    public String add(@RequestBody HelloData helloData) {
+        store.add(helloData);
+
+        return "ok";
+    }
+
+    @ResponseStatus(HttpStatus.CREATED)
+    @PostMapping("/batch")
+    public String addAll(@RequestBody List<HelloData> helloDataList) {
+        store.addAll(helloDataList);
+        log.debug("batch size = {}", helloDataList.size());
+
+        return "ok";
+    }
+
+    @GetMapping("/count")
+    public long count() {
+        return store.count();
+    }
+
+    @GetMapping("/stats")
+    public HelloDataStats stats() {
+        return store.stats();
+    }
+
+    @GetMapping("/histogram")
+    public Map<Long, Long> histogram(@RequestParam(defaultValue = "10") int bucketSize) {
+        return store.histogram(bucketSize);
+    }
+
+    @GetMapping("/distinct-usernames")
+    public int distinctUsernames() {
+        return store.distinctUsernames();
+    }
+
+    @DeleteMapping
+    public String clear() {
+        store.clear();
+
+        return "ok";
+    }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(IllegalArgumentException.class)
+    public String badRequest(IllegalArgumentException e) {
+        return e.getMessage();
+    }
+}
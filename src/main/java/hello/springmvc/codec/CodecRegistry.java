@@ -0,0 +1,80 @@
+package hello.springmvc.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 타입별 ObjectReader, ObjectWriter 저장소
+ * - 스프링이 설정한 ObjectMapper(MappingJackson2HttpMessageConverter와 같은 객체)로부터 만들기 때문에 설정이 같고,
+ * serializer/deserializer 캐시도 공유함.
+ * - ObjectReader, ObjectWriter는 불변이고 스레드에 안전하므로 타입마다 하나를 만들어 모든 요청에서 재사용함.
+ * - register()로 등록한 타입은 warmUp()에서 예시 객체를 반복해서 직렬화/역직렬화함.
+ */
+@Slf4j
+public class CodecRegistry {
+
+    private final ObjectMapper objectMapper;
+    private final Map<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+    private final Map<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Object> samples = new ConcurrentHashMap<>();
+
+    public CodecRegistry(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @param sample 웜업에 사용할 예시 객체
+     */
+    public <T> CodecRegistry register(Class<T> type, T sample) {
+        reader(type);
+        writer(type);
+        samples.put(type, sample);
+        return this;
+    }
+
+    public ObjectReader reader(Class<?> type) {
+        return readers.computeIfAbsent(type, objectMapper::readerFor);
+    }
+
+    public ObjectWriter writer(Class<?> type) {
+        return writers.computeIfAbsent(type, objectMapper::writerFor);
+    }
+
+    public <T> T sample(Class<T> type) {
+        return type.cast(samples.get(type));
+    }
+
+    /**
+     * 등록된 타입마다 iterations번 직렬화 후 역직렬화를 반복해서 Jackson 캐시를 채우고 JIT 컴파일을 유도함.
+     * 역직렬화할 수 없는 타입(응답 전용 객체 등)은 직렬화만 반복함.
+     */
+    public void warmUp(int iterations) {
+        samples.forEach((type, sample) -> {
+            ObjectReader reader = reader(type);
+            ObjectWriter writer = writer(type);
+            boolean readable = true;
+
+            try {
+                for (int i = 0; i < iterations; i++) {
+                    byte[] json = writer.writeValueAsBytes(sample);
+                    if (readable) {
+                        try {
+                            reader.readValue(json);
+                        } catch (IOException e) {
+                            log.debug("skip deserialization warm-up type = {}, reason = {}", type.getName(), e.getMessage());
+                            readable = false;
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                log.warn("codec warm-up failed type = {}", type.getName(), e);
+            }
+        });
+    }
+}
@@ -0,0 +1,61 @@
+package hello.springmvc.compression;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.StringUtils;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.Locale;
+
+/**
+ * Accept-Encoding 헤더 해석(CompressionFilter, InMemoryResourceResolver 공용)
+ * ex) 'gzip, deflate, br' -> true, 'gzip;q=0' -> false, '*' -> true, '*;q=0.5, gzip;q=0' -> false
+ * gzip을 직접 지정한 경우가 '*'보다 우선함.
+ */
+final class AcceptEncoding {
+
+    static final String GZIP = "gzip";
+
+    private AcceptEncoding() {
+    }
+
+    static boolean acceptsGzip(HttpServletRequest request) {
+        return acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (!StringUtils.hasText(acceptEncoding)) {
+            return false;
+        }
+
+        boolean accepted = false;
+        for (String coding : StringUtils.tokenizeToStringArray(acceptEncoding, ",")) {
+            String[] parts = StringUtils.tokenizeToStringArray(coding, ";");
+            if (parts.length == 0) {
+                continue;
+            }
+
+            String name = parts[0].toLowerCase(Locale.ROOT);
+            if (GZIP.equals(name)) {
+                return qualityOf(parts) > 0;
+            }
+            if ("*".equals(name)) {
+                accepted = qualityOf(parts) > 0;
+            }
+        }
+        return accepted;
+    }
+
+    private static double qualityOf(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].toLowerCase(Locale.ROOT);
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,172 @@
+package hello.springmvc.compression;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * HTTP 응답 압축 필터(Content-Encoding: gzip)
+ * - 요청의 Accept-Encoding 헤더에 gzip(q > 0)이 있는 경우에만 압축(AcceptEncoding)
+ * - 응답 바디를 버퍼링한 후 크기가 minResponseSize 이상이고 압축 대상 Content-Type인 경우에만 압축
+ * - 이미 Content-Encoding이 설정된 응답(ex) 미리 압축된 정적 리소스)은 그대로 전달
+ * - 압축에는 DeflaterPool의 Deflater를 재사용
+ * - 압축 대상 Content-Type의 응답에는 실제 압축 여부(Accept-Encoding, 크기)와 관계없이 항상 Vary: Accept-Encoding을 추가해서
+ * 공유 캐시가 압축하지 않은 응답을 gzip 클라이언트에게(또는 그 반대로) 전달하지 않도록 함.
+ * <p>
+ * 비동기 요청(CompletableFuture, DeferredResult)은 ShallowEtagHeaderFilter와 같은 방식으로
+ * 최초 요청에서 감싼 응답을 async dispatch까지 유지한 후 마지막에 한 번만 압축함.
+ */
+public class CompressionFilter extends OncePerRequestFilter {
+
+    private final DeflaterPool deflaterPool;
+    private final int minResponseSize;
+    private final List<MediaType> mimeTypes;
+
+    public CompressionFilter(DeflaterPool deflaterPool, int minResponseSize, List<MediaType> mimeTypes) {
+        this.deflaterPool = deflaterPool;
+        this.minResponseSize = minResponseSize;
+        this.mimeTypes = mimeTypes;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!AcceptEncoding.acceptsGzip(request)) {
+            // 버퍼링 없이 Content-Type이 설정되는 시점에 Vary만 추가
+            filterChain.doFilter(request, new VaryResponse(response));
+            return;
+        }
+
+        HttpServletResponse responseToUse = response;
+        if (!isAsyncDispatch(request) && !(response instanceof ContentCachingResponseWrapper)) {
+            responseToUse = new ContentCachingResponseWrapper(response);
+        }
+
+        try {
+            filterChain.doFilter(request, responseToUse);
+        } finally {
+            if (!isAsyncStarted(request)) {
+                writeResponse(request, responseToUse);
+            }
+        }
+    }
+
+    private void writeResponse(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ContentCachingResponseWrapper wrapper = WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
+        if (wrapper == null) {
+            return;
+        }
+
+        HttpServletResponse rawResponse = (HttpServletResponse) wrapper.getResponse();
+        if (!isCompressible(request, wrapper)) {
+            if (!wrapper.isCommitted() && isCompressibleType(wrapper.getContentType())) {
+                addVary(rawResponse);
+            }
+            wrapper.copyBodyToResponse();
+            return;
+        }
+
+        byte[] compressed = deflaterPool.gzip(wrapper.getContentAsByteArray());
+        rawResponse.setHeader(HttpHeaders.CONTENT_ENCODING, AcceptEncoding.GZIP);
+        addVary(rawResponse);
+        rawResponse.setContentLength(compressed.length);
+        rawResponse.getOutputStream().write(compressed);
+        rawResponse.flushBuffer();
+    }
+
+    private boolean isCompressible(HttpServletRequest request, ContentCachingResponseWrapper response) {
+        if ("HEAD".equals(request.getMethod())
+                || response.isCommitted()
+                || response.getContentSize() < minResponseSize
+                || response.getHeader(HttpHeaders.CONTENT_ENCODING) != null
+                || response.getHeader(HttpHeaders.CONTENT_RANGE) != null
+                || response.getContentType() == null) {
+            return false;
+        }
+        return isCompressibleType(response.getContentType());
+    }
+
+    private boolean isCompressibleType(String value) {
+        if (value == null) {
+            return false;
+        }
+
+        MediaType contentType;
+        try {
+            contentType = MediaType.parseMediaType(value);
+        } catch (InvalidMediaTypeException e) {
+            // 응답을 쓰는 finally 블록에서 호출되기 때문에 예외를 던지지 않고 압축하지 않은 원본을 그대로 전달
+            return false;
+        }
+        for (MediaType mimeType : mimeTypes) {
+            if (mimeType.includes(contentType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void addVary(HttpServletResponse response) {
+        for (String vary : response.getHeaders(HttpHeaders.VARY)) {
+            if (vary.toLowerCase(Locale.ROOT).contains(HttpHeaders.ACCEPT_ENCODING.toLowerCase(Locale.ROOT))) {
+                return;
+            }
+        }
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    }
+
+    /**
+     * gzip을 허용하지 않는 요청의 응답 : 압축 대상 Content-Type이 설정되면 Vary: Accept-Encoding 추가
+     */
+    private final class VaryResponse extends HttpServletResponseWrapper {
+
+        VaryResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public void setContentType(String type) {
+            super.setContentType(type);
+            varyIfCompressible(type);
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            super.setHeader(name, value);
+            if (HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name)) {
+                varyIfCompressible(value);
+            }
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            super.addHeader(name, value);
+            if (HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name)) {
+                varyIfCompressible(value);
+            }
+        }
+
+        private void varyIfCompressible(String type) {
+            if (!isCommitted() && isCompressibleType(type)) {
+                addVary((HttpServletResponse) getResponse());
+            }
+        }
+    }
+}
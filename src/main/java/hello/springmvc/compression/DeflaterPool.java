@@ -0,0 +1,89 @@
+package hello.springmvc.compression;
+
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Deflater 재사용 풀
+ * Deflater는 네이티브(zlib) 메모리를 사용하기 때문에 응답마다 새로 만들면 end()/GC 전까지 네이티브 메모리가 쌓임.
+ * 풀에 보관된 Deflater는 reset() 후 재사용하고, 풀이 가득 차면 end()로 바로 해제함.
+ */
+public class DeflaterPool {
+
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+    private static final int BUFFER_SIZE = 8192;
+
+    private final BlockingQueue<Deflater> pool;
+    private final int level;
+
+    public DeflaterPool(int maxSize, int level) {
+        this.pool = new ArrayBlockingQueue<>(maxSize);
+        this.level = level;
+    }
+
+    /**
+     * GZIP 포맷(헤더 + raw deflate + CRC32/길이 트레일러)으로 압축
+     *
+     * @param input 원본 바이트
+     * @return GZIP으로 압축된 바이트
+     */
+    public byte[] gzip(byte[] input) {
+        Deflater deflater = borrow();
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length / 2 + GZIP_HEADER.length + 8);
+            out.write(GZIP_HEADER, 0, GZIP_HEADER.length);
+
+            deflater.setInput(input);
+            deflater.finish();
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (!deflater.finished()) {
+                int length = deflater.deflate(buffer);
+                out.write(buffer, 0, length);
+            }
+
+            CRC32 crc = new CRC32();
+            crc.update(input);
+            writeIntLE(out, (int) crc.getValue());
+            writeIntLE(out, input.length);
+            return out.toByteArray();
+        } finally {
+            release(deflater);
+        }
+    }
+
+    public int size() {
+        return pool.size();
+    }
+
+    /**
+     * 풀에 남아있는 Deflater의 네이티브 메모리 해제
+     */
+    public void clear() {
+        Deflater deflater;
+        while ((deflater = pool.poll()) != null) {
+            deflater.end();
+        }
+    }
+
+    private Deflater borrow() {
+        Deflater deflater = pool.poll();
+        return deflater != null ? deflater : new Deflater(level, true);
+    }
+
+    private void release(Deflater deflater) {
+        deflater.reset();
+        if (!pool.offer(deflater)) {
+            deflater.end();
+        }
+    }
+
+    private static void writeIntLE(ByteArrayOutputStream out, int value) {
+        out.write(value);
+        out.write(value >>> 8);
+        out.write(value >>> 16);
+        out.write(value >>> 24);
+    }
+}
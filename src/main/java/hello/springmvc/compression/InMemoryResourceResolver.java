@@ -0,0 +1,134 @@
+package hello.springmvc.compression;
+
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.servlet.resource.AbstractResourceResolver;
+import org.springframework.web.servlet.resource.HttpResource;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 정적 리소스를 처음 요청될 때 한 번만 읽고 이후에는 메모리(byte[])에서 바로 응답하는 ResourceResolver
+ * - 뒤에 있는 EncodedResourceResolver가 선택한 미리 압축된 리소스(.gz)도 Content-Encoding 헤더와 함께 그대로 캐시
+ * - gzip을 받을 수 있는 요청인지(AcceptEncoding, q-value 포함)에 따라 캐시 키를 구분
+ * - EncodedResourceResolver는 Accept-Encoding 헤더에 'gzip' 문자열이 있는지만 확인하기 때문에
+ * gzip을 받을 수 없는 요청(ex) 'gzip;q=0')은 Accept-Encoding 헤더를 지운 요청으로 다음 resolver를 호출함.
+ * - maxResourceSize보다 큰 리소스는 캐시하지 않음.
+ */
+public class InMemoryResourceResolver extends AbstractResourceResolver {
+
+    private static final String GZIP_KEY_SUFFIX = "+encoding=gzip";
+
+    private final Map<String, InMemoryResource> cache = new ConcurrentHashMap<>();
+    private final long maxResourceSize;
+
+    public InMemoryResourceResolver(long maxResourceSize) {
+        this.maxResourceSize = maxResourceSize;
+    }
+
+    @Override
+    protected Resource resolveResourceInternal(@Nullable HttpServletRequest request, String requestPath,
+                                               List<? extends Resource> locations, ResourceResolverChain chain) {
+        boolean gzip = request != null && AcceptEncoding.acceptsGzip(request);
+        String key = gzip ? requestPath + GZIP_KEY_SUFFIX : requestPath;
+        InMemoryResource cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        HttpServletRequest requestToUse = request == null || gzip ? request : new IdentityEncodingRequest(request);
+        Resource resolved = chain.resolveResource(requestToUse, requestPath, locations);
+        if (resolved == null) {
+            return null;
+        }
+
+        try {
+            if (resolved.contentLength() > maxResourceSize) {
+                return resolved;
+            }
+            InMemoryResource resource = new InMemoryResource(resolved);
+            cache.putIfAbsent(key, resource);
+            return resource;
+        } catch (IOException e) {
+            logger.debug("Failed to cache resource in memory: " + resolved, e);
+            return resolved;
+        }
+    }
+
+    @Override
+    protected String resolveUrlPathInternal(String resourceUrlPath, List<? extends Resource> locations,
+                                            ResourceResolverChain chain) {
+        return chain.resolveUrlPath(resourceUrlPath, locations);
+    }
+
+    /**
+     * Accept-Encoding 헤더가 없는 요청으로 보이게 함(압축하지 않은 원본 리소스 선택)
+     */
+    private static final class IdentityEncodingRequest extends HttpServletRequestWrapper {
+
+        IdentityEncodingRequest(HttpServletRequest request) {
+            super(request);
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return HttpHeaders.ACCEPT_ENCODING.equalsIgnoreCase(name) ? null : super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            return HttpHeaders.ACCEPT_ENCODING.equalsIgnoreCase(name) ? Collections.emptyEnumeration() : super.getHeaders(name);
+        }
+    }
+
+    /**
+     * 원본 리소스의 파일명(미디어 타입 결정), 수정 시각(Last-Modified), 응답 헤더(Content-Encoding 등)를 유지하는 byte[] 리소스
+     */
+    private static final class InMemoryResource extends ByteArrayResource implements HttpResource {
+
+        private final String filename;
+        private final long lastModified;
+        private final HttpHeaders responseHeaders;
+
+        InMemoryResource(Resource original) throws IOException {
+            super(read(original), original.getDescription());
+            this.filename = original.getFilename();
+            this.lastModified = original.lastModified();
+            this.responseHeaders = original instanceof HttpResource
+                    ? ((HttpResource) original).getResponseHeaders() : new HttpHeaders();
+        }
+
+        private static byte[] read(Resource resource) throws IOException {
+            try (InputStream inputStream = resource.getInputStream()) {
+                return StreamUtils.copyToByteArray(inputStream);
+            }
+        }
+
+        @Override
+        public String getFilename() {
+            return filename;
+        }
+
+        @Override
+        public long lastModified() {
+            return lastModified;
+        }
+
+        @Override
+        public HttpHeaders getResponseHeaders() {
+            return responseHeaders;
+        }
+    }
+}
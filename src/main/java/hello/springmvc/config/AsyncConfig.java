@@ -0,0 +1,70 @@
+package hello.springmvc.config;
+
+import hello.springmvc.basic.request.RequestBodyNonBlockingServlet;
+import hello.springmvc.logging.RequestLogFlag;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.ServletRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * HTTP 요청 메시지 바디 처리를 Tomcat 워커 스레드에서 분리하기 위한 비동기 설정
+ * - 전용 스레드 풀의 크기와 대기 큐 크기를 제한(bounded)하고, 큐가 가득 차면 즉시 거절(AbortPolicy)해서 503으로 응답(back-pressure)
+ * - CompletableFuture, DeferredResult를 반환하는 핸들러는 timeout-ms 안에 완료되지 않으면 503으로 응답
+ */
+@Configuration
+public class AsyncConfig implements WebMvcConfigurer {
+
+    public static final String REQUEST_BODY_EXECUTOR = "requestBodyExecutor";
+
+    @Value("${hello.async.core-pool-size:8}")
+    private int corePoolSize;
+
+    @Value("${hello.async.max-pool-size:8}")
+    private int maxPoolSize;
+
+    @Value("${hello.async.queue-capacity:200}")
+    private int queueCapacity;
+
+    @Value("${hello.async.timeout-ms:3000}")
+    private long timeoutMs;
+
+    @Value("${hello.async.max-body-size:1048576}")
+    private int maxBodySize;
+
+    @Bean(name = REQUEST_BODY_EXECUTOR)
+    public ThreadPoolTaskExecutor requestBodyExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setThreadNamePrefix("request-body-");
+        // 'mode: debug' 요청의 디버그 플래그와 웜업 요청의 로그 억제 플래그 전달
+        executor.setTaskDecorator(task -> RequestLogFlag.QUIET.wrap(RequestLogFlag.DEBUG.wrap(task)));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(requestBodyExecutor());
+        configurer.setDefaultTimeout(timeoutMs);
+    }
+
+    /**
+     * ReadListener를 사용하는 논블로킹 요청 바디 읽기는 스프링 MVC 밖의 서블릿으로 등록
+     */
+    @Bean
+    public ServletRegistrationBean<RequestBodyNonBlockingServlet> requestBodyNonBlockingServlet() {
+        ServletRegistrationBean<RequestBodyNonBlockingServlet> registration = new ServletRegistrationBean<>(
+                new RequestBodyNonBlockingServlet(requestBodyExecutor(), timeoutMs, maxBodySize), "/request-body-string-async-v3");
+        registration.setAsyncSupported(true);
+        return registration;
+    }
+}
@@ -0,0 +1,65 @@
+package hello.springmvc.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.springmvc.basic.HelloData;
+import hello.springmvc.basic.store.HelloDataStats;
+import hello.springmvc.codec.CodecRegistry;
+import hello.springmvc.warmup.WarmUpFilter;
+import hello.springmvc.warmup.WarmUpRunner;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.web.server.Ssl;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * JSON 코덱(ObjectReader, ObjectWriter) 저장소와 시작 시 웜업 설정
+ * 자주 사용하는 타입은 예시 객체와 함께 등록해 두고, hello.warmup.enabled=false이면 웜업을 하지 않음.
+ * 웜업 요청은 WarmUp 헤더로 표시되어 추적, 핸들러 지연 시간 수집에서 빠지고 WARN 미만 로그를 출력하지 않음.
+ */
+@Configuration
+public class CodecConfig {
+
+    @Value("${hello.warmup.codec-iterations:10000}")
+    private int codecIterations;
+
+    @Value("${hello.warmup.request-iterations:50}")
+    private int requestIterations;
+
+    @Bean
+    public CodecRegistry codecRegistry(ObjectMapper objectMapper) {
+        HelloData helloData = new HelloData();
+        helloData.setUsername("warmup");
+        helloData.setAge(20);
+
+        return new CodecRegistry(objectMapper)
+                .register(HelloData.class, helloData)
+                .register(HelloDataStats.class, new HelloDataStats(1, 20, 20, 20.0));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "hello.warmup.enabled", havingValue = "true", matchIfMissing = true)
+    public WarmUpRunner warmUpRunner(CodecRegistry codecRegistry, ApplicationContext applicationContext,
+                                     ServerProperties serverProperties) {
+        Ssl ssl = serverProperties.getSsl();
+        String scheme = ssl != null && ssl.isEnabled() ? "https" : "http";
+        String contextPath = serverProperties.getServlet().getContextPath();
+        return new WarmUpRunner(codecRegistry, applicationContext, scheme, contextPath == null ? "" : contextPath,
+                codecIterations, requestIterations);
+    }
+
+    /**
+     * DebugModeFilter 다음에 실행되어 이후 필터와 핸들러의 로그에 적용됨.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "hello.warmup.enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<WarmUpFilter> warmUpFilter() {
+        FilterRegistrationBean<WarmUpFilter> registration = new FilterRegistrationBean<>(new WarmUpFilter());
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+}
@@ -0,0 +1,77 @@
+package hello.springmvc.config;
+
+import hello.springmvc.compression.CompressionFilter;
+import hello.springmvc.compression.DeflaterPool;
+import hello.springmvc.compression.InMemoryResourceResolver;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+
+import javax.servlet.DispatcherType;
+import java.util.zip.Deflater;
+
+/**
+ * HTTP 응답 압축 설정
+ * - 컨트롤러 응답(JSON, HTML 등) : CompressionFilter가 Accept-Encoding을 확인하고 min-response-size 이상인 경우에만 gzip 압축
+ * - 정적 리소스 : 빌드 시(processResources) 미리 만든 .gz 파일을 EncodedResourceResolver로 선택하고, InMemoryResourceResolver로 메모리에 캐시
+ * <p>
+ * 스프링 부트 기본 정적 리소스 매핑('/**')을 대체하기 위해 WebMvcAutoConfiguration보다 먼저 적용되도록 순서를 지정함.
+ */
+@Configuration
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CompressionConfig implements WebMvcConfigurer {
+
+    public static final int FILTER_ORDER = Ordered.LOWEST_PRECEDENCE - 10;
+
+    private static final String[] STATIC_LOCATIONS = {
+            "classpath:/META-INF/resources/", "classpath:/resources/", "classpath:/static/", "classpath:/public/"};
+
+    @Value("${hello.compression.min-response-size:2048}")
+    private int minResponseSize;
+
+    @Value("${hello.compression.mime-types:text/html,text/plain,text/css,application/javascript,application/json}")
+    private String mimeTypes;
+
+    @Value("${hello.compression.deflater-pool-size:16}")
+    private int deflaterPoolSize;
+
+    @Value("${hello.compression.static-cache-max-resource-size:1048576}")
+    private long staticCacheMaxResourceSize;
+
+    @Bean(destroyMethod = "clear")
+    public DeflaterPool deflaterPool() {
+        return new DeflaterPool(deflaterPoolSize, Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * 스프링 MVC(DispatcherServlet) 요청에만 적용
+     * (RequestBodyNonBlockingServlet처럼 직접 AsyncContext를 완료하는 서블릿은 응답을 버퍼링하면 안 되기 때문)
+     */
+    @Bean
+    public FilterRegistrationBean<CompressionFilter> compressionFilter() {
+        FilterRegistrationBean<CompressionFilter> registration = new FilterRegistrationBean<>(
+                new CompressionFilter(deflaterPool(), minResponseSize, MediaType.parseMediaTypes(mimeTypes)));
+        registration.addServletNames(DispatcherServletAutoConfiguration.DEFAULT_DISPATCHER_SERVLET_BEAN_NAME);
+        registration.setDispatcherTypes(DispatcherType.REQUEST, DispatcherType.ASYNC);
+        registration.setOrder(FILTER_ORDER);
+        registration.setAsyncSupported(true);
+        return registration;
+    }
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        registry.addResourceHandler("/**")
+                .addResourceLocations(STATIC_LOCATIONS)
+                .resourceChain(false)
+                .addResolver(new InMemoryResourceResolver(staticCacheMaxResourceSize))
+                .addResolver(new EncodedResourceResolver());
+    }
+}
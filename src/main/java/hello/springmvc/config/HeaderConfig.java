@@ -0,0 +1,42 @@
+package hello.springmvc.config;
+
+import hello.springmvc.header.CachedCookieValueArgumentResolver;
+import hello.springmvc.header.RequestHeadersArgumentResolver;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 헤더, HttpMethod, Locale, 쿠키 조회용 ArgumentResolver 설정
+ * WebMvcConfigurer.addArgumentResolvers()로 추가한 ArgumentResolver는 스프링 기본 ArgumentResolver 뒤에 등록되어
+ * @RequestHeader MultiValueMap, @CookieValue 같은 기본 지원 타입에는 적용되지 않기 때문에,
+ * RequestMappingHandlerAdapter 초기화 이후에 목록의 맨 앞에 추가함.
+ */
+@Configuration
+public class HeaderConfig {
+
+    @Bean
+    public static BeanPostProcessor headerArgumentResolverPostProcessor(ConfigurableListableBeanFactory beanFactory) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof RequestMappingHandlerAdapter) {
+                    RequestMappingHandlerAdapter adapter = (RequestMappingHandlerAdapter) bean;
+
+                    List<HandlerMethodArgumentResolver> resolvers = new ArrayList<>();
+                    resolvers.add(new RequestHeadersArgumentResolver());
+                    resolvers.add(new CachedCookieValueArgumentResolver(beanFactory));
+                    resolvers.addAll(adapter.getArgumentResolvers());
+                    adapter.setArgumentResolvers(resolvers);
+                }
+                return bean;
+            }
+        };
+    }
+}
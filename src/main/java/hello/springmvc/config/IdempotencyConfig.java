@@ -0,0 +1,55 @@
+package hello.springmvc.config;
+
+import hello.springmvc.idempotency.IdempotencyFilter;
+import hello.springmvc.idempotency.IdempotencyStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 회원 등록/수정 API('/mapping/users')의 Idempotency-Key 중복 제거 설정
+ * CompressionFilter보다 안쪽에서 동작해야 압축되지 않은 원본 응답이 저장됨.
+ */
+@Configuration
+public class IdempotencyConfig {
+
+    public static final int FILTER_ORDER = CompressionConfig.FILTER_ORDER + 1;
+
+    @Value("${hello.idempotency.max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${hello.idempotency.max-bytes:33554432}")
+    private long maxBytes;
+
+    @Value("${hello.idempotency.ttl-ms:86400000}")
+    private long ttlMs;
+
+    @Value("${hello.idempotency.max-body-size:65536}")
+    private int maxBodySize;
+
+    @Value("${hello.idempotency.max-request-body-size:65536}")
+    private int maxRequestBodySize;
+
+    @Value("${hello.idempotency.wait-timeout-ms:5000}")
+    private long waitTimeoutMs;
+
+    @Bean
+    public IdempotencyStore idempotencyStore() {
+        return new IdempotencyStore(maxEntries, maxBytes, ttlMs);
+    }
+
+    /**
+     * 서블릿 컨테이너는 URL 패턴으로 매핑된 필터를 서블릿 이름으로 매핑된 필터보다 항상 먼저 실행하기 때문에
+     * CompressionFilter와 같이 DispatcherServlet 이름으로 등록하고, 대상 경로는 필터에서 확인함.
+     */
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter() {
+        FilterRegistrationBean<IdempotencyFilter> registration = new FilterRegistrationBean<>(
+                new IdempotencyFilter(idempotencyStore(), "/mapping/users", maxBodySize, maxRequestBodySize, waitTimeoutMs));
+        registration.addServletNames(DispatcherServletAutoConfiguration.DEFAULT_DISPATCHER_SERVLET_BEAN_NAME);
+        registration.setOrder(FILTER_ORDER);
+        return registration;
+    }
+}
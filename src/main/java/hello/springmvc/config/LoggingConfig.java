@@ -0,0 +1,72 @@
+package hello.springmvc.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import hello.springmvc.logging.DebugModeFilter;
+import hello.springmvc.logging.RequestLogFlag;
+import hello.springmvc.logging.RequestLogTurboFilter;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * 요청 단위 디버그 로그 설정
+ * 전역 로그 레벨(logging.level.*)은 그대로 두고, 'mode: debug' 헤더와 hello.debug-mode.token 값의 X-Debug-Token 헤더가
+ * 있는 요청에서만 hello.debug-mode.logger 하위 로거의 hello.debug-mode.level 이상 로그를 출력함.
+ * hello.debug-mode.enabled=true 일 때만 필터를 등록함(기본 꺼짐).
+ */
+@Configuration
+public class LoggingConfig {
+
+    @Value("${hello.debug-mode.logger:hello.springmvc}")
+    private String loggerPrefix;
+
+    @Value("${hello.debug-mode.level:TRACE}")
+    private String level;
+
+    @Value("${hello.debug-mode.token:}")
+    private String token;
+
+    /**
+     * 'mode: debug' 요청의 hello.debug-mode.logger 하위 로거 로그를 hello.debug-mode.level부터 출력함.
+     */
+    @Bean(destroyMethod = "stop")
+    public RequestLogTurboFilter debugModeTurboFilter() {
+        return register(RequestLogTurboFilter.force(RequestLogFlag.DEBUG, loggerPrefix, Level.toLevel(level, Level.TRACE)));
+    }
+
+    /**
+     * 웜업 요청의 WARN 미만 로그를 출력하지 않음.
+     */
+    @Bean(destroyMethod = "stop")
+    public RequestLogTurboFilter quietModeTurboFilter() {
+        return register(RequestLogTurboFilter.suppress(RequestLogFlag.QUIET, Logger.ROOT_LOGGER_NAME, Level.WARN));
+    }
+
+    /**
+     * TracingFilter 바로 다음에 실행되어 이후 필터와 핸들러의 로그에 모두 적용됨.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "hello.debug-mode.enabled", havingValue = "true")
+    public FilterRegistrationBean<DebugModeFilter> debugModeFilter() {
+        FilterRegistrationBean<DebugModeFilter> registration = new FilterRegistrationBean<>(new DebugModeFilter(token));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+
+    /**
+     * 스프링 부트가 Logback 초기화를 마친 후 빈 생성 시점에 TurboFilter를 등록하고, 종료 시(stop) 제거함.
+     */
+    private RequestLogTurboFilter register(RequestLogTurboFilter turboFilter) {
+        LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+        turboFilter.setContext(loggerContext);
+        turboFilter.start();
+        loggerContext.addTurboFilter(turboFilter);
+        return turboFilter;
+    }
+}
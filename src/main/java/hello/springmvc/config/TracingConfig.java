@@ -0,0 +1,73 @@
+package hello.springmvc.config;
+
+import hello.springmvc.tracing.TraceRingBuffer;
+import hello.springmvc.tracing.TracingDispatcherServlet;
+import hello.springmvc.tracing.TracingFilter;
+import hello.springmvc.tracing.TracingRequestMappingHandlerAdapter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcProperties;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcRegistrations;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+/**
+ * 요청 추적 설정
+ * - TracingFilter : 모든 필터보다 먼저 실행되어 요청 전체(filter-chain)를 기록
+ * - TracingDispatcherServlet : 스프링 부트 기본 DispatcherServlet을 대체(같은 빈 이름 사용)
+ * - TracingRequestMappingHandlerAdapter : WebMvcRegistrations로 기본 RequestMappingHandlerAdapter를 대체
+ * - 추적 결과는 '/internal/traces'에서 조회
+ */
+@Configuration
+public class TracingConfig {
+
+    @Value("${hello.tracing.buffer-size:1024}")
+    private int bufferSize;
+
+    @Value("${hello.tracing.sample-rate:0.01}")
+    private double sampleRate;
+
+    @Value("${hello.tracing.slow-threshold-ms:500}")
+    private long slowThresholdMs;
+
+    @Bean
+    public TraceRingBuffer traceRingBuffer() {
+        return new TraceRingBuffer(bufferSize);
+    }
+
+    @Bean
+    public FilterRegistrationBean<TracingFilter> tracingFilter() {
+        FilterRegistrationBean<TracingFilter> registration = new FilterRegistrationBean<>(
+                new TracingFilter(traceRingBuffer(), sampleRate, slowThresholdMs));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    /**
+     * DispatcherServletAutoConfiguration과 같은 설정을 적용
+     */
+    @Bean(name = DispatcherServletAutoConfiguration.DEFAULT_DISPATCHER_SERVLET_BEAN_NAME)
+    public DispatcherServlet dispatcherServlet(WebMvcProperties webMvcProperties) {
+        DispatcherServlet dispatcherServlet = new TracingDispatcherServlet();
+        dispatcherServlet.setDispatchOptionsRequest(webMvcProperties.isDispatchOptionsRequest());
+        dispatcherServlet.setDispatchTraceRequest(webMvcProperties.isDispatchTraceRequest());
+        dispatcherServlet.setThrowExceptionIfNoHandlerFound(webMvcProperties.isThrowExceptionIfNoHandlerFound());
+        dispatcherServlet.setPublishEvents(webMvcProperties.isPublishRequestHandledEvents());
+        dispatcherServlet.setEnableLoggingRequestDetails(webMvcProperties.isLogRequestDetails());
+        return dispatcherServlet;
+    }
+
+    @Bean
+    public WebMvcRegistrations tracingWebMvcRegistrations() {
+        return new WebMvcRegistrations() {
+            @Override
+            public RequestMappingHandlerAdapter getRequestMappingHandlerAdapter() {
+                return new TracingRequestMappingHandlerAdapter();
+            }
+        };
+    }
+}
@@ -0,0 +1,92 @@
+package hello.springmvc.config;
+
+import hello.springmvc.tuning.HandlerLatencyInterceptor;
+import hello.springmvc.tuning.InstrumentedTomcatExecutor;
+import hello.springmvc.tuning.WorkerPoolTuner;
+import org.apache.coyote.AbstractProtocol;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Tomcat 워커 스레드 풀 자동 조정 설정
+ * Tomcat이 내부에서 만드는 executor 대신 대기 시간을 측정하는 InstrumentedTomcatExecutor를 커넥터에 등록하고,
+ * WorkerPoolTuner가 hello.worker-pool.* 범위 안에서 최대 스레드 수를 조정함.
+ * (커넥터에 직접 등록한 executor는 Tomcat이 종료하지 않기 때문에 빈 종료 시점에 직접 종료함)
+ * <p>
+ * 커넥터에 executor를 직접 등록하면 Tomcat은 server.tomcat.threads.max, server.tomcat.threads.min-spare를 사용하지 않음.
+ * 스레드 수는 hello.worker-pool.min-threads, max-threads, initial-threads로만 설정함.
+ * accept backlog는 조정하지 않고 server.tomcat.accept-count를 그대로 사용함(WorkerPoolTuner 참고).
+ */
+@Configuration
+public class WorkerPoolConfig implements WebMvcConfigurer {
+
+    @Value("${hello.worker-pool.min-threads:10}")
+    private int minThreads;
+
+    @Value("${hello.worker-pool.max-threads:400}")
+    private int maxThreads;
+
+    @Value("${hello.worker-pool.initial-threads:200}")
+    private int initialThreads;
+
+    @Value("${hello.worker-pool.target-queue-wait-ms:5}")
+    private double targetQueueWaitMs;
+
+    @Value("${hello.worker-pool.cpu-ceiling:0.9}")
+    private double cpuCeiling;
+
+    @Value("${hello.worker-pool.interval-ms:5000}")
+    private long intervalMs;
+
+    @Value("${hello.worker-pool.history-size:120}")
+    private int historySize;
+
+    @Bean(destroyMethod = "shutdown")
+    public InstrumentedTomcatExecutor workerPoolExecutor() {
+        return new InstrumentedTomcatExecutor(minThreads, Math.max(minThreads, Math.min(maxThreads, initialThreads)));
+    }
+
+    @Bean
+    public HandlerLatencyInterceptor handlerLatencyInterceptor() {
+        return new HandlerLatencyInterceptor();
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public WorkerPoolTuner workerPoolTuner() {
+        return new WorkerPoolTuner(workerPoolExecutor(), handlerLatencyInterceptor(),
+                minThreads, maxThreads, targetQueueWaitMs, cpuCeiling, intervalMs, historySize);
+    }
+
+    @Bean
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> workerPoolCustomizer() {
+        return factory -> factory.addConnectorCustomizers(connector -> {
+            ProtocolHandler handler = connector.getProtocolHandler();
+            if (handler instanceof AbstractProtocol) {
+                AbstractProtocol<?> protocol = (AbstractProtocol<?>) handler;
+                protocol.setExecutor(workerPoolExecutor());
+                workerPoolTuner().bind(protocol);
+            }
+        });
+    }
+
+    /**
+     * ApplicationReadyEvent는 웜업(WarmUpRunner)이 끝난 후에 발행되므로 이 시점에 웜업 구간을 버림.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resetWorkerPoolTuner() {
+        workerPoolTuner().reset();
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(handlerLatencyInterceptor());
+    }
+}
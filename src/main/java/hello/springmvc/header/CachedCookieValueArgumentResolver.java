@@ -0,0 +1,37 @@
+package hello.springmvc.header;
+
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.core.MethodParameter;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.ServletCookieValueMethodArgumentResolver;
+import org.springframework.web.util.UrlPathHelper;
+
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * @CookieValue 파라미터를 요청 단위로 캐시된 RequestHeaders의 쿠키 Map에서 조회
+ * (기본 구현은 @CookieValue 파라미터마다 쿠키 배열 전체를 순회함.)
+ */
+public class CachedCookieValueArgumentResolver extends ServletCookieValueMethodArgumentResolver {
+
+    private final UrlPathHelper urlPathHelper = UrlPathHelper.defaultInstance;
+
+    public CachedCookieValueArgumentResolver(ConfigurableBeanFactory beanFactory) {
+        super(beanFactory);
+    }
+
+    @Override
+    protected Object resolveName(String cookieName, MethodParameter parameter, NativeWebRequest webRequest) {
+        HttpServletRequest request = webRequest.getNativeRequest(HttpServletRequest.class);
+        Cookie cookie = RequestHeaders.of(request).getCookie(cookieName);
+
+        if (Cookie.class.isAssignableFrom(parameter.getNestedParameterType())) {
+            return cookie;
+        }
+        if (cookie != null) {
+            return urlPathHelper.decodeRequestString(request, cookie.getValue());
+        }
+        return null;
+    }
+}
@@ -0,0 +1,190 @@
+package hello.springmvc.header;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.servlet.support.RequestContextUtils;
+
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 서블릿 컨테이너의 헤더 저장소를 그대로 조회하는 읽기 전용 MultiValueMap
+ * - 스프링 기본 동작(@RequestHeader MultiValueMap)은 요청마다 모든 헤더를 새 Map에 복사하지만,
+ * 이 객체는 실제로 조회한 헤더만 List로 만들어 캐시함.
+ * - keySet(), entrySet(), size(), toString() 처럼 전체가 필요한 경우에만 모든 헤더를 한 번 만들어 둠.
+ * - 헤더 이름은 컨테이너와 같이 대소문자를 구분하지 않음.
+ * <p>
+ * 같은 요청 안에서는 요청 속성(request attribute)으로 하나만 만들어 공유하고,
+ * HttpMethod, Locale, 쿠키 조회 결과도 요청 단위로 캐시함.
+ * 요청 스레드 안에서만 사용하기 때문에 동기화하지 않음.
+ */
+public class RequestHeaders extends AbstractMap<String, List<String>> implements MultiValueMap<String, String> {
+
+    private static final String ATTRIBUTE_NAME = RequestHeaders.class.getName();
+
+    private final HttpServletRequest request;
+
+    private Map<String, List<String>> accessed;
+    private Set<Entry<String, List<String>>> entrySet;
+    private Map<String, Cookie> cookies;
+    private HttpMethod httpMethod;
+    private Locale locale;
+
+    private RequestHeaders(HttpServletRequest request) {
+        this.request = request;
+    }
+
+    public static RequestHeaders of(HttpServletRequest request) {
+        RequestHeaders headers = (RequestHeaders) request.getAttribute(ATTRIBUTE_NAME);
+        if (headers == null) {
+            headers = new RequestHeaders(request);
+            request.setAttribute(ATTRIBUTE_NAME, headers);
+        }
+        return headers;
+    }
+
+    @Override
+    public List<String> get(Object key) {
+        if (!(key instanceof String)) {
+            return null;
+        }
+
+        String name = ((String) key).toLowerCase(Locale.ROOT);
+        if (accessed != null && accessed.containsKey(name)) {
+            return accessed.get(name);
+        }
+
+        List<String> values = read(name);
+        if (accessed == null) {
+            accessed = new HashMap<>(4);
+        }
+        accessed.put(name, values);
+        return values;
+    }
+
+    /**
+     * 첫 번째 값만 필요한 경우에는 List를 만들지 않고 컨테이너에서 바로 조회
+     */
+    @Override
+    public String getFirst(String key) {
+        return request.getHeader(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof String && request.getHeader((String) key) != null;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return !request.getHeaderNames().hasMoreElements();
+    }
+
+    @Override
+    public Set<Entry<String, List<String>>> entrySet() {
+        if (entrySet == null) {
+            Map<String, List<String>> all = new LinkedHashMap<>();
+            Enumeration<String> names = request.getHeaderNames();
+            while (names.hasMoreElements()) {
+                String name = names.nextElement();
+                all.put(name, get(name));
+            }
+            entrySet = Collections.unmodifiableMap(all).entrySet();
+        }
+        return entrySet;
+    }
+
+    @Override
+    public Map<String, String> toSingleValueMap() {
+        Map<String, String> singleValueMap = new LinkedHashMap<>();
+        Enumeration<String> names = request.getHeaderNames();
+        while (names.hasMoreElements()) {
+            String name = names.nextElement();
+            singleValueMap.put(name, request.getHeader(name));
+        }
+        return singleValueMap;
+    }
+
+    public HttpMethod getHttpMethod() {
+        if (httpMethod == null) {
+            httpMethod = HttpMethod.resolve(request.getMethod());
+        }
+        return httpMethod;
+    }
+
+    public Locale getLocale() {
+        if (locale == null) {
+            locale = RequestContextUtils.getLocale(request);
+        }
+        return locale;
+    }
+
+    public Cookie getCookie(String name) {
+        if (cookies == null) {
+            Cookie[] requestCookies = request.getCookies();
+            if (requestCookies == null || requestCookies.length == 0) {
+                cookies = Collections.emptyMap();
+            } else {
+                cookies = new HashMap<>(requestCookies.length * 2);
+                for (Cookie cookie : requestCookies) {
+                    cookies.putIfAbsent(cookie.getName(), cookie);
+                }
+            }
+        }
+        return cookies.get(name);
+    }
+
+    @Override
+    public void add(String key, String value) {
+        throw readOnly();
+    }
+
+    @Override
+    public void addAll(String key, List<? extends String> values) {
+        throw readOnly();
+    }
+
+    @Override
+    public void addAll(MultiValueMap<String, String> values) {
+        throw readOnly();
+    }
+
+    @Override
+    public void set(String key, String value) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setAll(Map<String, String> values) {
+        throw readOnly();
+    }
+
+    private List<String> read(String name) {
+        Enumeration<String> values = request.getHeaders(name);
+        if (values == null || !values.hasMoreElements()) {
+            return null;
+        }
+
+        String first = values.nextElement();
+        if (!values.hasMoreElements()) {
+            return Collections.singletonList(first);
+        }
+
+        List<String> list = Collections.list(values);
+        list.add(0, first);
+        return Collections.unmodifiableList(list);
+    }
+
+    private UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException("RequestHeaders is read-only");
+    }
+}
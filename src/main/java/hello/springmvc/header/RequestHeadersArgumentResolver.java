@@ -0,0 +1,50 @@
+package hello.springmvc.header;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpMethod;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.Locale;
+
+/**
+ * 다음 파라미터를 요청 단위로 캐시된 RequestHeaders에서 꺼내 전달
+ * - @RequestHeader MultiValueMap<String, String> : 헤더를 복사하지 않는 읽기 전용 뷰
+ * - 애노테이션이 없는 HttpMethod, Locale
+ * (@RequestParam Locale, @PathVariable HttpMethod 처럼 애노테이션이 있으면 해당 애노테이션의 ArgumentResolver가 처리)
+ * <p>
+ * 스프링 기본 ArgumentResolver보다 먼저 적용되어야 하므로 HeaderConfig에서 맨 앞에 등록함.
+ */
+public class RequestHeadersArgumentResolver implements HandlerMethodArgumentResolver {
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        Class<?> type = parameter.getParameterType();
+        if (MultiValueMap.class == type) {
+            RequestHeader requestHeader = parameter.getParameterAnnotation(RequestHeader.class);
+            // MethodParameter의 애노테이션은 별칭(value <-> name)이 합쳐지지 않으므로 둘 다 확인
+            return requestHeader != null && requestHeader.name().isEmpty() && requestHeader.value().isEmpty();
+        }
+        return (HttpMethod.class == type || Locale.class == type) && !parameter.hasParameterAnnotations();
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        RequestHeaders headers = RequestHeaders.of(webRequest.getNativeRequest(HttpServletRequest.class));
+
+        Class<?> type = parameter.getParameterType();
+        if (HttpMethod.class == type) {
+            return headers.getHttpMethod();
+        }
+        if (Locale.class == type) {
+            return headers.getLocale();
+        }
+        return headers;
+    }
+}
@@ -0,0 +1,20 @@
+package hello.springmvc.idempotency;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Idempotency-Key 중복 제거 통계 조회(내부용)
+ */
+@RestController
+@RequiredArgsConstructor
+public class IdempotencyController {
+
+    private final IdempotencyStore idempotencyStore;
+
+    @GetMapping("/internal/idempotency")
+    public IdempotencyStats stats() {
+        return idempotencyStore.stats();
+    }
+}
@@ -0,0 +1,319 @@
+package hello.springmvc.idempotency;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletException;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Idempotency-Key 헤더가 있는 POST, PATCH 요청의 중복 실행 방지 필터
+ * 1. 처음 들어온 키 : 핸들러를 실행하고 응답(상태 코드, Content-Type, 바디)을 저장
+ * 2. 이미 응답이 저장된 키 : 핸들러를 실행하지 않고 저장된 응답을 그대로 반환(Idempotent-Replayed: true)
+ * 3. 최초 요청이 아직 실행 중인 키 : 최초 요청이 끝날 때까지 기다린 후 그 응답을 반환(waitTimeoutMillis 초과 시 409)
+ * 4. 같은 키인데 요청 내용(쿼리 스트링, 바디)이 다른 경우 : 422
+ * 5. 저장소의 모든 키가 실행 중이라 새 키를 등록할 수 없는 경우 : 503
+ * <p>
+ * 요청 내용을 비교하기 위해 바디를 핸들러 실행 전에 읽어 두고(maxRequestBodySize 초과 시 413),
+ * 핸들러에는 읽어 둔 바디를 다시 읽을 수 있는 요청으로 전달함.
+ * 5xx 응답, 예외, maxBodySize를 넘는 응답은 저장하지 않기 때문에 다음 재시도는 핸들러를 다시 실행함.
+ * 같은 키라도 HTTP 메소드, URI가 다르면 다른 요청으로 취급함.
+ */
+@Slf4j
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final int SC_UNPROCESSABLE_ENTITY = 422;
+    private static final int BUFFER_SIZE = 4096;
+
+    private final IdempotencyStore store;
+    private final String pathPrefix;
+    private final int maxBodySize;
+    private final int maxRequestBodySize;
+    private final long waitTimeoutMillis;
+
+    /**
+     * @param pathPrefix 적용할 경로(ex) '/mapping/users' -> '/mapping/users', '/mapping/users/{userId}')
+     */
+    public IdempotencyFilter(IdempotencyStore store, String pathPrefix, int maxBodySize, int maxRequestBodySize,
+                             long waitTimeoutMillis) {
+        this.store = store;
+        this.pathPrefix = pathPrefix;
+        this.maxBodySize = maxBodySize;
+        this.maxRequestBodySize = maxRequestBodySize;
+        this.waitTimeoutMillis = waitTimeoutMillis;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String method = request.getMethod();
+        String path = request.getServletPath();
+        return !(HttpMethod.POST.matches(method) || HttpMethod.PATCH.matches(method))
+                || !(path.equals(pathPrefix) || path.startsWith(pathPrefix + "/"))
+                || request.getHeader(IDEMPOTENCY_KEY) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY);
+        if (idempotencyKey.isEmpty() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Invalid " + IDEMPOTENCY_KEY);
+            return;
+        }
+
+        HttpServletRequest requestToUse;
+        String fingerprint;
+        if (isFormContent(request)) {
+            // 폼 데이터는 컨테이너가 바디를 파라미터로 읽기 때문에 파라미터(쿼리 스트링 포함)로 비교
+            requestToUse = request;
+            fingerprint = fingerprint(request.getParameterMap());
+        } else {
+            byte[] body = readBody(request);
+            if (body == null) {
+                response.sendError(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+                return;
+            }
+            requestToUse = new CachedBodyRequest(request, body);
+            fingerprint = fingerprint(request.getQueryString(), body);
+        }
+
+        String key = request.getMethod() + " " + request.getRequestURI() + " " + idempotencyKey;
+        while (true) {
+            IdempotencyStore.Acquisition acquisition = store.acquire(key, fingerprint);
+            if (acquisition.isRejected()) {
+                response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE,
+                        "Too many " + IDEMPOTENCY_KEY + " requests in progress");
+                return;
+            }
+            if (acquisition.isPayloadMismatch()) {
+                response.sendError(SC_UNPROCESSABLE_ENTITY,
+                        "The " + IDEMPOTENCY_KEY + " was already used with a different request payload");
+                return;
+            }
+            if (acquisition.isOwner()) {
+                execute(key, acquisition.entry(), requestToUse, response, filterChain);
+                return;
+            }
+
+            StoredResponse stored;
+            try {
+                stored = acquisition.entry().future().get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException | ExecutionException e) {
+                sendInProgress(response);
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                sendInProgress(response);
+                return;
+            }
+
+            if (stored != null) {
+                replay(stored, request, response);
+                return;
+            }
+            // 최초 요청의 결과가 저장되지 않았으면(5xx 등) 다시 실행을 시도함.
+        }
+    }
+
+    private void execute(String key, IdempotencyStore.Entry entry, HttpServletRequest request,
+                         HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        StoredResponse stored = null;
+
+        try {
+            filterChain.doFilter(request, wrapper);
+
+            if (wrapper.getStatus() < HttpServletResponse.SC_INTERNAL_SERVER_ERROR && wrapper.getContentSize() <= maxBodySize) {
+                stored = new StoredResponse(wrapper.getStatus(), wrapper.getContentType(), wrapper.getContentAsByteArray());
+            }
+        } finally {
+            // 결과가 null이면 키가 제거되고 기다리던 요청들이 다시 실행을 시도함.
+            store.complete(key, entry, stored);
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private void replay(StoredResponse stored, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        log.debug("replay stored response uri = {}", request.getRequestURI());
+        response.setStatus(stored.getStatus());
+        if (stored.getContentType() != null) {
+            response.setContentType(stored.getContentType());
+        }
+        response.setHeader(IDEMPOTENT_REPLAYED, "true");
+        response.setContentLength(stored.getBody().length);
+        response.getOutputStream().write(stored.getBody());
+    }
+
+    private void sendInProgress(HttpServletResponse response) throws IOException {
+        response.sendError(HttpServletResponse.SC_CONFLICT, "A request with the same " + IDEMPOTENCY_KEY + " is in progress");
+    }
+
+    private boolean isFormContent(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        if (contentType == null) {
+            return false;
+        }
+        try {
+            return MediaType.APPLICATION_FORM_URLENCODED.isCompatibleWith(MediaType.parseMediaType(contentType));
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @return maxRequestBodySize를 넘으면 null
+     */
+    private byte[] readBody(HttpServletRequest request) throws IOException {
+        if (request.getContentLengthLong() > maxRequestBodySize) {
+            return null;
+        }
+
+        InputStream inputStream = request.getInputStream();
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int length;
+        while ((length = inputStream.read(buffer)) != -1) {
+            if (body.size() + length > maxRequestBodySize) {
+                return null;
+            }
+            body.write(buffer, 0, length);
+        }
+        return body.toByteArray();
+    }
+
+    private static String fingerprint(String queryString, byte[] body) {
+        MessageDigest digest = sha256();
+        if (queryString != null) {
+            digest.update(queryString.getBytes(StandardCharsets.UTF_8));
+        }
+        digest.update((byte) 0);
+        return toHex(digest.digest(body));
+    }
+
+    private static String fingerprint(Map<String, String[]> parameters) {
+        MessageDigest digest = sha256();
+        new TreeMap<>(parameters).forEach((name, values) -> {
+            digest.update(name.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '=');
+            digest.update(Arrays.toString(values).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '&');
+        });
+        return toHex(digest.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * 미리 읽어 둔 바디를 핸들러가 다시 읽을 수 있게 하는 요청
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream inputStream = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return inputStream.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return inputStream.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return inputStream.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                /**
+                 * 바디가 이미 모두 메모리에 있으므로 컨테이너 스레드(AsyncContext.start)에서
+                 * onDataAvailable(), onAllDataRead()를 차례로 호출함.
+                 */
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    if (!isAsyncStarted()) {
+                        throw new IllegalStateException("Async processing has not been started");
+                    }
+                    ServletInputStream inputStream = this;
+                    getAsyncContext().start(() -> {
+                        try {
+                            if (!inputStream.isFinished()) {
+                                readListener.onDataAvailable();
+                            }
+                            if (inputStream.isFinished()) {
+                                readListener.onAllDataRead();
+                            }
+                        } catch (Throwable t) {
+                            readListener.onError(t);
+                        }
+                    });
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = StringUtils.hasText(encoding) ? Charset.forName(encoding) : StandardCharsets.ISO_8859_1;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package hello.springmvc.idempotency;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Idempotency-Key 중복 제거 통계
+ * - executed : 핸들러를 실제로 실행한 요청 수
+ * - replayed : 저장된 응답을 그대로 돌려준 요청 수
+ * - waited : 같은 키로 동시에 들어와서 최초 실행이 끝나기를 기다린 요청 수
+ * - bytes, maxBytes : 저장된 응답 바디 크기 합계와 상한
+ * - mismatched : 같은 키가 다른 요청 내용으로 재사용되어 422로 거절한 요청 수
+ * - rejected : 모든 키가 실행 중이라 등록할 자리가 없어 503으로 거절한 요청 수
+ * - dedupeRate : (replayed + waited) / 전체
+ */
+@Data
+@AllArgsConstructor
+public class IdempotencyStats {
+
+    private int size;
+    private int maxEntries;
+    private long bytes;
+    private long maxBytes;
+    private long executed;
+    private long replayed;
+    private long waited;
+    private long mismatched;
+    private long rejected;
+    private long evicted;
+    private double dedupeRate;
+}
@@ -0,0 +1,229 @@
+package hello.springmvc.idempotency;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Idempotency-Key별 최초 응답을 보관하는 저장소
+ * - 최초 요청은 CompletableFuture를 등록하고 핸들러를 실행, 같은 키의 동시 요청은 같은 Future의 완료를 기다림.
+ * - 같은 키로 다른 요청 내용(fingerprint)이 들어오면 기존 응답을 돌려주지 않고 불일치로 알림.
+ * - 저장된 응답은 ttlMillis가 지나면 만료
+ * - 최대 maxEntries개, 저장된 응답 바디 합계 최대 maxBytes까지만 보관하고, 초과하면 먼저 등록된 키부터 제거(메모리 상한)
+ * <p>
+ * 아직 실행 중인(Future가 완료되지 않은) 키는 제거하지 않음.
+ * 실행 중인 키를 제거하면 그 키의 재시도가 저장소에서 키를 찾지 못해 핸들러가 두 번 실행되기 때문에,
+ * 모든 키가 실행 중이라 새 키를 등록할 자리가 없으면 새 요청을 거절(rejected)함.
+ * <p>
+ * 키는 등록 순서를 유지하는 LinkedHashMap 하나에만 보관하고 모든 변경을 하나의 락 안에서 처리하기 때문에
+ * 제거된 키가 순서 정보에 남거나, 오래된 순서 정보가 같은 키로 새로 등록된 Entry를 지우는 일이 없음.
+ * (락 안에서는 Map 조회/변경만 하고 핸들러 실행이나 대기는 락 밖에서 함)
+ */
+public class IdempotencyStore {
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+    private final int maxEntries;
+    private final long maxBytes;
+    private final long ttlMillis;
+    private long bytes;
+
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder replayed = new LongAdder();
+    private final LongAdder waited = new LongAdder();
+    private final LongAdder mismatched = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+
+    /**
+     * @param maxBytes 저장된 응답 바디 크기 합계 상한
+     */
+    public IdempotencyStore(int maxEntries, long maxBytes, long ttlMillis) {
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * @param key         저장소 키
+     * @param fingerprint 요청 내용(쿼리 스트링, 바디)의 해시
+     * @return 처음 등록된 키면 새 Entry와 owner=true, 이미 등록된 키면 기존 Entry와 owner=false
+     * (기존 Entry의 fingerprint가 다르면 payloadMismatch=true, 모든 키가 실행 중이라 등록할 자리가 없으면 rejected=true)
+     */
+    public synchronized Acquisition acquire(String key, String fingerprint) {
+        long now = System.currentTimeMillis();
+        removeExpired(now);
+
+        Entry existing = entries.get(key);
+        if (existing != null) {
+            if (!existing.fingerprint.equals(fingerprint)) {
+                mismatched.increment();
+                return new Acquisition(existing, false, true, false);
+            }
+            if (existing.future.isDone()) {
+                replayed.increment();
+            } else {
+                waited.increment();
+            }
+            return new Acquisition(existing, false, false, false);
+        }
+
+        evictCompleted(maxEntries - 1, maxBytes);
+        if (entries.size() >= maxEntries) {
+            rejected.increment();
+            return new Acquisition(null, false, false, true);
+        }
+
+        Entry created = new Entry(fingerprint, now + ttlMillis);
+        entries.put(key, created);
+        executed.increment();
+        return new Acquisition(created, true, false, false);
+    }
+
+    /**
+     * 핸들러 실행이 끝나면 호출해서 결과를 저장하고 기다리던 요청들에게 전달함.
+     * - stored가 null(5xx, 예외, 바디 크기 초과)이면 키를 제거해서 다음 재시도가 다시 실행되도록 함.
+     * - 다른 키를 제거해도 maxBytes 안에 들어오지 않으면(다른 키가 모두 실행 중) 이 응답은 보관하지 않고
+     * 기다리던 요청들에게만 전달함.
+     * 이미 같은 키로 다른 Entry가 등록되었으면 그 Entry는 건드리지 않음.
+     */
+    public void complete(String key, Entry entry, StoredResponse stored) {
+        synchronized (this) {
+            if (entries.get(key) == entry) {
+                if (stored == null) {
+                    entries.remove(key);
+                } else {
+                    entry.bytes = stored.getBody().length;
+                    bytes += entry.bytes;
+                    evictCompleted(maxEntries, maxBytes);
+                    if (bytes > maxBytes) {
+                        remove(key, entry);
+                        evicted.increment();
+                    }
+                }
+            }
+        }
+        entry.future.complete(stored);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long bytes() {
+        return bytes;
+    }
+
+    public IdempotencyStats stats() {
+        long executedCount = executed.sum();
+        long replayedCount = replayed.sum();
+        long waitedCount = waited.sum();
+        long total = executedCount + replayedCount + waitedCount;
+        double dedupeRate = total == 0 ? 0.0 : (double) (replayedCount + waitedCount) / total;
+
+        synchronized (this) {
+            return new IdempotencyStats(entries.size(), maxEntries, bytes, maxBytes, executedCount, replayedCount,
+                    waitedCount, mismatched.sum(), rejected.sum(), evicted.sum(), dedupeRate);
+        }
+    }
+
+    /**
+     * TTL이 모두 같기 때문에 등록 순서가 곧 만료 순서이므로 앞에서부터 만료되지 않은 키가 나올 때까지만 확인
+     * (만료되었어도 실행 중인 키는 남겨 둠)
+     */
+    private void removeExpired(long now) {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (!entry.isExpired(now)) {
+                return;
+            }
+            if (entry.future.isDone()) {
+                iterator.remove();
+                bytes -= entry.bytes;
+                evicted.increment();
+            }
+        }
+    }
+
+    /**
+     * 키 수가 entryLimit 이하, 바디 합계가 byteLimit 이하가 될 때까지 먼저 등록된 키부터 제거(실행 중인 키는 건너뜀)
+     */
+    private void evictCompleted(int entryLimit, long byteLimit) {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while ((entries.size() > entryLimit || bytes > byteLimit) && iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.future.isDone()) {
+                iterator.remove();
+                bytes -= entry.bytes;
+                evicted.increment();
+            }
+        }
+    }
+
+    private void remove(String key, Entry entry) {
+        entries.remove(key);
+        bytes -= entry.bytes;
+    }
+
+    public static final class Acquisition {
+
+        private final Entry entry;
+        private final boolean owner;
+        private final boolean payloadMismatch;
+        private final boolean rejected;
+
+        private Acquisition(Entry entry, boolean owner, boolean payloadMismatch, boolean rejected) {
+            this.entry = entry;
+            this.owner = owner;
+            this.payloadMismatch = payloadMismatch;
+            this.rejected = rejected;
+        }
+
+        public Entry entry() {
+            return entry;
+        }
+
+        /**
+         * 최초로 키를 등록해서 핸들러를 실행해야 하는 요청인지 여부
+         */
+        public boolean isOwner() {
+            return owner;
+        }
+
+        /**
+         * 같은 키가 다른 요청 내용으로 재사용되었는지 여부
+         */
+        public boolean isPayloadMismatch() {
+            return payloadMismatch;
+        }
+
+        /**
+         * 모든 키가 실행 중이라 새 키를 등록하지 못했는지 여부
+         */
+        public boolean isRejected() {
+            return rejected;
+        }
+    }
+
+    public static final class Entry {
+
+        private final CompletableFuture<StoredResponse> future = new CompletableFuture<>();
+        private final String fingerprint;
+        private final long expiresAt;
+        private long bytes;
+
+        private Entry(String fingerprint, long expiresAt) {
+            this.fingerprint = fingerprint;
+            this.expiresAt = expiresAt;
+        }
+
+        public CompletableFuture<StoredResponse> future() {
+            return future;
+        }
+
+        private boolean isExpired(long now) {
+            return now > expiresAt;
+        }
+    }
+}
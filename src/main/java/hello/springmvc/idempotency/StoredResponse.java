@@ -0,0 +1,16 @@
+package hello.springmvc.idempotency;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 재시도 요청에 그대로 돌려줄 최초 응답(상태 코드, Content-Type, 바디)
+ */
+@Getter
+@RequiredArgsConstructor
+public class StoredResponse {
+
+    private final int status;
+    private final String contentType;
+    private final byte[] body;
+}
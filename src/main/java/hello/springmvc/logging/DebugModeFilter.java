@@ -0,0 +1,61 @@
+package hello.springmvc.logging;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * 'mode: debug' 헤더와 설정된 토큰(X-Debug-Token)이 함께 있는 요청만 디버그 로그를 출력하도록 RequestLogFlag.DEBUG 플래그를 설정하는 필터
+ * (MappingController.mappingHeader의 headers = "mode=debug"와 같은 헤더)
+ * 토큰이 비어 있으면 어떤 요청도 디버그 모드를 켜지 않음. async dispatch도 같은 헤더로 다시 플래그를 설정함.
+ */
+public class DebugModeFilter extends OncePerRequestFilter {
+
+    public static final String HEADER_NAME = "mode";
+    public static final String HEADER_VALUE = "debug";
+    public static final String TOKEN_HEADER_NAME = "X-Debug-Token";
+
+    private final byte[] token;
+
+    public DebugModeFilter(String token) {
+        this.token = token == null ? new byte[0] : token.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HEADER_VALUE.equals(request.getHeader(HEADER_NAME)) || !hasToken(request);
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestLogFlag.DEBUG.enable();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestLogFlag.DEBUG.disable();
+        }
+    }
+
+    /**
+     * 토큰 비교 시간으로 일치하는 길이를 알 수 없도록 MessageDigest.isEqual로 비교
+     */
+    private boolean hasToken(HttpServletRequest request) {
+        String value = request.getHeader(TOKEN_HEADER_NAME);
+        if (token.length == 0 || value == null) {
+            return false;
+        }
+        return MessageDigest.isEqual(token, value.getBytes(StandardCharsets.UTF_8));
+    }
+}
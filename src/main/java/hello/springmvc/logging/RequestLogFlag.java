@@ -0,0 +1,58 @@
+package hello.springmvc.logging;
+
+/**
+ * 요청 단위 로그 플래그
+ * - 플래그가 켜진 요청이 하나도 없으면 volatile 카운터 읽기 한 번으로 판단이 끝남.
+ * - 켜진 요청이 있는 동안에만 ThreadLocal로 현재 스레드의 요청에 플래그가 켜져 있는지 확인함.
+ * DEBUG: 'mode: debug' 요청(DebugModeFilter), QUIET: 웜업 요청(WarmUpFilter)
+ */
+public final class RequestLogFlag {
+
+    public static final RequestLogFlag DEBUG = new RequestLogFlag();
+    public static final RequestLogFlag QUIET = new RequestLogFlag();
+
+    private final ThreadLocal<Boolean> enabled = new ThreadLocal<>();
+    private volatile int activeCount;
+
+    private RequestLogFlag() {
+    }
+
+    public boolean isEnabled() {
+        return activeCount != 0 && enabled.get() != null;
+    }
+
+    public void enable() {
+        if (enabled.get() == null) {
+            enabled.set(Boolean.TRUE);
+            increment(1);
+        }
+    }
+
+    public void disable() {
+        if (enabled.get() != null) {
+            enabled.remove();
+            increment(-1);
+        }
+    }
+
+    /**
+     * 비동기 실행 스레드로 현재 요청의 플래그를 전달(ThreadPoolTaskExecutor의 TaskDecorator로 사용)
+     */
+    public Runnable wrap(Runnable task) {
+        if (!isEnabled()) {
+            return task;
+        }
+        return () -> {
+            enable();
+            try {
+                task.run();
+            } finally {
+                disable();
+            }
+        };
+    }
+
+    private synchronized void increment(int delta) {
+        activeCount += delta;
+    }
+}
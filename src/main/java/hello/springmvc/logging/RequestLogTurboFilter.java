@@ -0,0 +1,70 @@
+package hello.springmvc.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+/**
+ * RequestLogFlag가 켜진 요청을 처리하는 스레드에서만 로거의 레벨 설정 대신 지정한 레벨로 로그 출력 여부를 결정하는 Logback TurboFilter
+ * - TurboFilter는 로거의 레벨 확인보다 먼저 호출되므로, 전역 레벨이 WARN이어도 디버그 요청의 DEBUG/TRACE 로그를 출력할 수 있음.
+ * - force: level 이상 로그를 항상 출력(ACCEPT), suppress: level 미만 로그를 출력하지 않음(DENY)
+ * - 플래그가 꺼진 요청은 플래그 확인 후 바로 NEUTRAL(기존 레벨 설정을 따름)을 반환함.
+ */
+public class RequestLogTurboFilter extends TurboFilter {
+
+    private final RequestLogFlag flag;
+    private final String loggerPrefix;
+    private final String childPrefix;
+    private final Level level;
+    private final boolean suppress;
+
+    private RequestLogTurboFilter(RequestLogFlag flag, String loggerPrefix, Level level, boolean suppress) {
+        this.flag = flag;
+        this.loggerPrefix = loggerPrefix;
+        this.childPrefix = loggerPrefix + ".";
+        this.level = level;
+        this.suppress = suppress;
+    }
+
+    /**
+     * @param loggerPrefix 적용할 로거 이름(하위 로거 포함) ex) hello.springmvc -> hello.springmvc, hello.springmvc.basic (hello.springmvcx는 제외)
+     * @param level        플래그가 켜진 요청에서 출력할 최소 레벨 ex) TRACE
+     */
+    public static RequestLogTurboFilter force(RequestLogFlag flag, String loggerPrefix, Level level) {
+        return new RequestLogTurboFilter(flag, loggerPrefix, level, false);
+    }
+
+    /**
+     * @param loggerPrefix 적용할 로거 이름(하위 로거 포함), Logger.ROOT_LOGGER_NAME이면 모든 로거
+     * @param level        플래그가 켜진 요청에서 이 레벨 미만 로그는 출력하지 않음 ex) WARN
+     */
+    public static RequestLogTurboFilter suppress(RequestLogFlag flag, String loggerPrefix, Level level) {
+        return new RequestLogTurboFilter(flag, loggerPrefix, level, true);
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (!flag.isEnabled()) {
+            return FilterReply.NEUTRAL;
+        }
+        if (level == null || level.isGreaterOrEqual(this.level) == suppress || !matches(logger.getName())) {
+            return FilterReply.NEUTRAL;
+        }
+        return suppress ? FilterReply.DENY : FilterReply.ACCEPT;
+    }
+
+    private boolean matches(String name) {
+        return Logger.ROOT_LOGGER_NAME.equals(loggerPrefix) || name.equals(loggerPrefix) || name.startsWith(childPrefix);
+    }
+
+    @Override
+    public void stop() {
+        if (getContext() instanceof LoggerContext) {
+            ((LoggerContext) getContext()).getTurboFilterList().remove(this);
+        }
+        super.stop();
+    }
+}
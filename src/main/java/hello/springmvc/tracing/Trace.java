@@ -0,0 +1,36 @@
+package hello.springmvc.tracing;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 링 버퍼에 저장되는 요청 하나의 추적 결과
+ * - reason : head(샘플링), slow(느린 요청)
+ * - 시간 단위는 마이크로초, 스팬의 offsetMicros는 요청 시작 기준
+ * - partial : 비동기 요청이라 최초 요청 스레드가 반환될 때까지만 기록된 경우(status는 0, durationMicros는 비동기 시작까지의 시간)
+ */
+@Getter
+@RequiredArgsConstructor
+public class Trace {
+
+    private final long id;
+    private final String method;
+    private final String uri;
+    private final int status;
+    private final long startTimeMillis;
+    private final long durationMicros;
+    private final String reason;
+    private final boolean partial;
+    private final List<Span> spans;
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Span {
+
+        private final String name;
+        private final long offsetMicros;
+        private final long durationMicros;
+    }
+}
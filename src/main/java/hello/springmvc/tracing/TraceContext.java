@@ -0,0 +1,92 @@
+package hello.springmvc.tracing;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 요청 스레드별 스팬 기록기
+ * - 스레드마다 하나를 만들어 재사용하고, 스팬은 미리 할당한 배열에 기록하기 때문에 요청마다 객체를 만들지 않음.
+ * - 추적 대상이 아닌 요청은 active가 false이므로 각 지점에서는 ThreadLocal 조회와 플래그 확인만 발생함.
+ * - 링 버퍼에 저장하기로 결정된 요청만 toTrace()로 불변 Trace 객체를 만듦.
+ * <p>
+ * 비동기 요청(CompletableFuture, DeferredResult)은 최초 요청 스레드에서 실행된 구간까지만 기록됨.
+ */
+public final class TraceContext {
+
+    private static final int MAX_SPANS = 32;
+    private static final ThreadLocal<TraceContext> HOLDER = ThreadLocal.withInitial(TraceContext::new);
+
+    private final String[] names = new String[MAX_SPANS];
+    private final long[] starts = new long[MAX_SPANS];
+    private final long[] durations = new long[MAX_SPANS];
+    private int count;
+    private boolean active;
+    private long startMillis;
+
+    private TraceContext() {
+    }
+
+    static TraceContext start() {
+        TraceContext context = HOLDER.get();
+        context.count = 0;
+        context.active = true;
+        context.startMillis = System.currentTimeMillis();
+        return context;
+    }
+
+    /**
+     * @return 추적 중인 요청이면 현재 스레드의 TraceContext, 아니면 null
+     */
+    static TraceContext current() {
+        TraceContext context = HOLDER.get();
+        return context.active ? context : null;
+    }
+
+    /**
+     * @param name 스팬 이름(상수 문자열 사용)
+     * @return endSpan()에 전달할 스팬 번호, 추적 중이 아니면 -1
+     */
+    public static int beginSpan(String name) {
+        TraceContext context = current();
+        return context == null ? -1 : context.begin(name);
+    }
+
+    public static void endSpan(int span) {
+        if (span < 0) {
+            return;
+        }
+        TraceContext context = current();
+        if (context != null) {
+            context.end(span);
+        }
+    }
+
+    int begin(String name) {
+        if (count == MAX_SPANS) {
+            return -1;
+        }
+        names[count] = name;
+        starts[count] = System.nanoTime();
+        durations[count] = -1;
+        return count++;
+    }
+
+    void end(int span) {
+        if (span >= 0 && span < count) {
+            durations[span] = System.nanoTime() - starts[span];
+        }
+    }
+
+    void finish() {
+        active = false;
+    }
+
+    Trace toTrace(long id, String method, String uri, int status, String reason, boolean partial) {
+        long rootStart = starts[0];
+        List<Trace.Span> spans = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            spans.add(new Trace.Span(names[i], (starts[i] - rootStart) / 1000, durations[i] < 0 ? -1 : durations[i] / 1000));
+        }
+        return new Trace(id, method, uri, status, startMillis, durations[0] / 1000, reason, partial, spans);
+    }
+}
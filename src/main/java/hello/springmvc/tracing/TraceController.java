@@ -0,0 +1,26 @@
+package hello.springmvc.tracing;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * 링 버퍼에 저장된 요청 추적 결과 조회(내부용)
+ * ex) /internal/traces?limit=20&minDurationMs=100
+ * - limit은 0 ~ 링 버퍼 크기로 보정(음수면 빈 목록)
+ */
+@RestController
+@RequiredArgsConstructor
+public class TraceController {
+
+    private final TraceRingBuffer traceRingBuffer;
+
+    @GetMapping("/internal/traces")
+    public List<Trace> traces(@RequestParam(defaultValue = "100") int limit,
+                              @RequestParam(defaultValue = "0") long minDurationMs) {
+        return traceRingBuffer.snapshot(limit, minDurationMs * 1000);
+    }
+}
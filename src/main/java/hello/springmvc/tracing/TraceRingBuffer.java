@@ -0,0 +1,57 @@
+package hello.springmvc.tracing;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 고정 크기 lock-free 링 버퍼
+ * 쓰기는 시퀀스를 하나 증가시키고 해당 슬롯을 덮어쓰기만 하므로 락이 없고, 가장 오래된 추적 결과부터 밀려남.
+ */
+public class TraceRingBuffer {
+
+    private final AtomicReferenceArray<Trace> slots;
+    private final AtomicLong sequence = new AtomicLong();
+    private final int mask;
+
+    /**
+     * @param capacity 2의 거듭제곱으로 올림
+     */
+    public TraceRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    public long nextId() {
+        return sequence.getAndIncrement();
+    }
+
+    public void publish(Trace trace) {
+        slots.set((int) (trace.getId() & mask), trace);
+    }
+
+    /**
+     * @param limit          최대 개수(0 ~ capacity 범위로 보정)
+     * @param minDurationMicros 이 시간 이상 걸린 요청만 조회
+     * @return 최신순 추적 결과
+     */
+    public List<Trace> snapshot(int limit, long minDurationMicros) {
+        List<Trace> traces = new ArrayList<>();
+        for (int i = 0; i < slots.length(); i++) {
+            Trace trace = slots.get(i);
+            if (trace != null && trace.getDurationMicros() >= minDurationMicros) {
+                traces.add(trace);
+            }
+        }
+        traces.sort(Comparator.comparingLong(Trace::getId).reversed());
+        int max = Math.min(Math.max(limit, 0), slots.length());
+        return traces.size() > max ? new ArrayList<>(traces.subList(0, max)) : traces;
+    }
+
+    public int capacity() {
+        return slots.length();
+    }
+}
@@ -0,0 +1,37 @@
+package hello.springmvc.tracing;
+
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.HandlerExecutionChain;
+import org.springframework.web.servlet.ModelAndView;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * 핸들러 매핑 조회(handler-mapping)와 뷰 렌더링(view-rendering) 구간을 기록하는 DispatcherServlet
+ */
+public class TracingDispatcherServlet extends DispatcherServlet {
+
+    private static final String HANDLER_MAPPING = "handler-mapping";
+    private static final String VIEW_RENDERING = "view-rendering";
+
+    @Override
+    protected HandlerExecutionChain getHandler(HttpServletRequest request) throws Exception {
+        int span = TraceContext.beginSpan(HANDLER_MAPPING);
+        try {
+            return super.getHandler(request);
+        } finally {
+            TraceContext.endSpan(span);
+        }
+    }
+
+    @Override
+    protected void render(ModelAndView mv, HttpServletRequest request, HttpServletResponse response) throws Exception {
+        int span = TraceContext.beginSpan(VIEW_RENDERING);
+        try {
+            super.render(mv, request, response);
+        } finally {
+            TraceContext.endSpan(span);
+        }
+    }
+}
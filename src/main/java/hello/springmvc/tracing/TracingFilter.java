@@ -0,0 +1,65 @@
+package hello.springmvc.tracing;
+
+import hello.springmvc.warmup.WarmUp;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 요청 추적의 시작과 끝(filter-chain 스팬)을 담당하는 필터
+ * - head 샘플링 : 요청 시작 시 sampleRate 확률로 추적 대상 선정
+ * - tail 샘플링 : 샘플링되지 않은 요청도 기록은 하고, slowThreshold 이상 걸린 경우에만 저장
+ * - 두 조건 모두 꺼져 있으면(sampleRate 0, slowThreshold 0) 스팬을 기록하지 않음.
+ * - 웜업 요청(WarmUp)은 기록하지 않음.
+ * - 비동기 요청은 최초 디스패치가 끝난 시점에는 상태 코드와 전체 시간을 알 수 없으므로 partial로 표시하고 상태 코드는 0으로 저장
+ */
+public class TracingFilter extends OncePerRequestFilter {
+
+    private static final String FILTER_CHAIN = "filter-chain";
+
+    private final TraceRingBuffer ringBuffer;
+    private final double sampleRate;
+    private final long slowThresholdNanos;
+
+    public TracingFilter(TraceRingBuffer ringBuffer, double sampleRate, long slowThresholdMillis) {
+        this.ringBuffer = ringBuffer;
+        this.sampleRate = sampleRate;
+        this.slowThresholdNanos = slowThresholdMillis * 1_000_000;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return WarmUp.isWarmUpRequest(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean sampled = sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+        if (!sampled && slowThresholdNanos <= 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        TraceContext context = TraceContext.start();
+        long start = System.nanoTime();
+        int root = context.begin(FILTER_CHAIN);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            context.end(root);
+            boolean slow = slowThresholdNanos > 0 && System.nanoTime() - start >= slowThresholdNanos;
+            if (sampled || slow) {
+                boolean partial = request.isAsyncStarted();
+                ringBuffer.publish(context.toTrace(ringBuffer.nextId(), request.getMethod(), request.getRequestURI(),
+                        partial ? 0 : response.getStatus(), sampled ? "head" : "slow", partial));
+            }
+            context.finish();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package hello.springmvc.tracing;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandler;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandlerComposite;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import org.springframework.web.servlet.mvc.method.annotation.ServletInvocableHandlerMethod;
+
+import java.util.Collections;
+
+/**
+ * 핸들러 실행 구간을 나누어 기록하는 RequestMappingHandlerAdapter
+ * - argument-resolution : ArgumentResolver 실행(@RequestBody 등 요청 메시지 변환 포함)
+ * - handler-invocation : 컨트롤러 메소드 실행
+ * - message-conversion : ReturnValueHandler 실행(@ResponseBody, HttpEntity의 응답 메시지 변환)
+ * <p>
+ * TracingConfig에서 WebMvcRegistrations로 등록함.
+ */
+public class TracingRequestMappingHandlerAdapter extends RequestMappingHandlerAdapter {
+
+    private static final String ARGUMENT_RESOLUTION = "argument-resolution";
+    private static final String HANDLER_INVOCATION = "handler-invocation";
+    private static final String MESSAGE_CONVERSION = "message-conversion";
+
+    /**
+     * 기본 ReturnValueHandler 목록 전체를 하나의 TracingReturnValueHandler로 감쌈.
+     * (이후 HeaderConfig처럼 ArgumentResolver 목록을 바꾸는 설정과는 서로 영향을 주지 않음)
+     */
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+
+        HandlerMethodReturnValueHandlerComposite delegate = new HandlerMethodReturnValueHandlerComposite();
+        delegate.addHandlers(getReturnValueHandlers());
+        setReturnValueHandlers(Collections.singletonList(new TracingReturnValueHandler(delegate)));
+    }
+
+    @Override
+    protected ServletInvocableHandlerMethod createInvocableHandlerMethod(HandlerMethod handlerMethod) {
+        return new TracingInvocableHandlerMethod(handlerMethod);
+    }
+
+    private static class TracingInvocableHandlerMethod extends ServletInvocableHandlerMethod {
+
+        TracingInvocableHandlerMethod(HandlerMethod handlerMethod) {
+            super(handlerMethod);
+        }
+
+        @Override
+        protected Object[] getMethodArgumentValues(NativeWebRequest request, ModelAndViewContainer mavContainer,
+                                                   Object... providedArgs) throws Exception {
+            int span = TraceContext.beginSpan(ARGUMENT_RESOLUTION);
+            try {
+                return super.getMethodArgumentValues(request, mavContainer, providedArgs);
+            } finally {
+                TraceContext.endSpan(span);
+            }
+        }
+
+        @Override
+        protected Object doInvoke(Object... args) throws Exception {
+            int span = TraceContext.beginSpan(HANDLER_INVOCATION);
+            try {
+                return super.doInvoke(args);
+            } finally {
+                TraceContext.endSpan(span);
+            }
+        }
+    }
+
+    private static class TracingReturnValueHandler implements HandlerMethodReturnValueHandler {
+
+        private final HandlerMethodReturnValueHandlerComposite delegate;
+
+        TracingReturnValueHandler(HandlerMethodReturnValueHandlerComposite delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public boolean supportsReturnType(MethodParameter returnType) {
+            return delegate.supportsReturnType(returnType);
+        }
+
+        @Override
+        public void handleReturnValue(Object returnValue, MethodParameter returnType,
+                                      ModelAndViewContainer mavContainer, NativeWebRequest webRequest) throws Exception {
+            int span = TraceContext.beginSpan(MESSAGE_CONVERSION);
+            try {
+                delegate.handleReturnValue(returnValue, returnType, mavContainer, webRequest);
+            } finally {
+                TraceContext.endSpan(span);
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package hello.springmvc.tuning;
+
+import hello.springmvc.warmup.WarmUp;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 핸들러(URL 패턴)별 처리 시간을 수집하는 인터셉터
+ * WorkerPoolTuner가 샘플링할 때마다 drain()으로 구간 평균을 가져가고 초기화함.
+ * 웜업 요청(WarmUp)은 수집하지 않음.
+ */
+public class HandlerLatencyInterceptor implements HandlerInterceptor {
+
+    private static final String START_ATTRIBUTE = HandlerLatencyInterceptor.class.getName() + ".START";
+
+    private final Map<String, Latency> latencies = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (WarmUp.isWarmUpRequest(request)) {
+            return true;
+        }
+        request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (start == null || pattern == null) {
+            return;
+        }
+
+        Latency latency = latencies.computeIfAbsent(request.getMethod() + " " + pattern, key -> new Latency());
+        latency.count.increment();
+        latency.totalNanos.add(System.nanoTime() - (Long) start);
+    }
+
+    /**
+     * @return key=HTTP 메소드 + URL 패턴, value=마지막 호출 이후 평균 처리 시간(ms)
+     */
+    public Map<String, Double> drain() {
+        Map<String, Double> averages = new LinkedHashMap<>();
+        latencies.forEach((handler, latency) -> {
+            long count = latency.count.sumThenReset();
+            long totalNanos = latency.totalNanos.sumThenReset();
+            if (count > 0) {
+                averages.put(handler, totalNanos / (double) count / 1_000_000);
+            }
+        });
+        return averages;
+    }
+
+    private static final class Latency {
+        final LongAdder count = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+    }
+}
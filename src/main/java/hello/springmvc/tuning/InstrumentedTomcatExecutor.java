@@ -0,0 +1,74 @@
+package hello.springmvc.tuning;
+
+import org.apache.tomcat.util.threads.TaskQueue;
+import org.apache.tomcat.util.threads.TaskThreadFactory;
+import org.apache.tomcat.util.threads.ThreadPoolExecutor;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 대기 큐에서 기다린 시간을 측정하는 Tomcat 워커 스레드 풀
+ * Tomcat 내부 executor와 같은 방식(TaskQueue: 최대 스레드 수까지 스레드를 먼저 늘리고 그 후에 큐에 쌓음)으로 생성하고,
+ * 작업을 큐에 넣은 시점부터 워커 스레드가 실행을 시작한 시점까지를 대기 시간으로 기록함.
+ */
+public class InstrumentedTomcatExecutor extends ThreadPoolExecutor {
+
+    private final LongAdder dispatched = new LongAdder();
+    private final LongAdder queueWaitNanos = new LongAdder();
+
+    public InstrumentedTomcatExecutor(int minSpareThreads, int maxThreads) {
+        super(minSpareThreads, maxThreads, 60, TimeUnit.SECONDS, new TaskQueue(),
+                new TaskThreadFactory("http-worker-", true, Thread.NORM_PRIORITY));
+        ((TaskQueue) getQueue()).setParent(this);
+    }
+
+    @Override
+    public void execute(Runnable command, long timeout, TimeUnit unit) {
+        super.execute(new TimedTask(command, System.nanoTime()), timeout, unit);
+    }
+
+    /**
+     * 마지막 호출 이후 실행된 작업 수와 대기 시간 합계를 반환하고 초기화
+     */
+    public Window drainWindow() {
+        return new Window(dispatched.sumThenReset(), queueWaitNanos.sumThenReset());
+    }
+
+    public static final class Window {
+
+        private final long dispatched;
+        private final long queueWaitNanos;
+
+        private Window(long dispatched, long queueWaitNanos) {
+            this.dispatched = dispatched;
+            this.queueWaitNanos = queueWaitNanos;
+        }
+
+        public long getDispatched() {
+            return dispatched;
+        }
+
+        public double getAverageQueueWaitMillis() {
+            return dispatched == 0 ? 0.0 : queueWaitNanos / (double) dispatched / 1_000_000;
+        }
+    }
+
+    private final class TimedTask implements Runnable {
+
+        private final Runnable delegate;
+        private final long enqueuedAt;
+
+        private TimedTask(Runnable delegate, long enqueuedAt) {
+            this.delegate = delegate;
+            this.enqueuedAt = enqueuedAt;
+        }
+
+        @Override
+        public void run() {
+            queueWaitNanos.add(System.nanoTime() - enqueuedAt);
+            dispatched.increment();
+            delegate.run();
+        }
+    }
+}
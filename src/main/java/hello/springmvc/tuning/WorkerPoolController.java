@@ -0,0 +1,20 @@
+package hello.springmvc.tuning;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 워커 스레드 풀 현재 설정과 조정 이력 조회(내부용)
+ */
+@RestController
+@RequiredArgsConstructor
+public class WorkerPoolController {
+
+    private final WorkerPoolTuner workerPoolTuner;
+
+    @GetMapping("/internal/worker-pool")
+    public WorkerPoolStatus status() {
+        return workerPoolTuner.status();
+    }
+}
@@ -0,0 +1,30 @@
+package hello.springmvc.tuning;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.Map;
+
+/**
+ * 워커 스레드 풀 샘플링 결과와 그때 내린 조정 결정
+ * - queueWaitMs : 구간 동안 작업이 대기 큐에서 기다린 평균 시간
+ * - throughput : 구간 동안 워커 스레드가 처리하기 시작한 작업 수(초당)
+ * - cpuLoad : 프로세스 CPU 사용률(0.0 ~ 1.0, 알 수 없으면 -1)
+ * - maxThreads : 결정을 반영한 후의 최대 스레드 수
+ * - handlerLatencyMs : 구간 동안의 핸들러별 평균 처리 시간
+ */
+@Data
+@AllArgsConstructor
+public class WorkerPoolSample {
+
+    private long timestamp;
+    private int poolSize;
+    private int activeThreads;
+    private int queueSize;
+    private double queueWaitMs;
+    private double throughput;
+    private double cpuLoad;
+    private int maxThreads;
+    private String action;
+    private Map<String, Double> handlerLatencyMs;
+}
@@ -0,0 +1,22 @@
+package hello.springmvc.tuning;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 현재 워커 스레드 풀 설정과 조정 범위, 최근 조정 이력
+ * - acceptCount : 커넥터가 서버 소켓을 바인딩할 때 사용한 backlog 값(server.tomcat.accept-count, 조정하지 않음)
+ * 실제 backlog는 OS가 이 값을 상한(ex) Linux net.core.somaxconn)으로 잘라서 적용하므로 더 작을 수 있음.
+ */
+@Data
+@AllArgsConstructor
+public class WorkerPoolStatus {
+
+    private int maxThreads;
+    private int acceptCount;
+    private int minThreadsBound;
+    private int maxThreadsBound;
+    private List<WorkerPoolSample> history;
+}
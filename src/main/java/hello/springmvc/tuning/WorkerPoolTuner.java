@@ -0,0 +1,187 @@
+package hello.springmvc.tuning;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.coyote.AbstractProtocol;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 대기 큐 지표로 Tomcat 워커 스레드 수를 조정하는 컨트롤러
+ * intervalMs마다 대기 시간, 활성 스레드 수, 처리량, CPU 사용률을 샘플링하고 설정된 범위 안에서 최대 스레드 수를 조정함.
+ * 1. 대기가 발생하고 스레드가 거의 모두 사용 중이면 10%씩 늘림(I/O 대기가 많은 핸들러는 스레드를 늘리면 처리량이 늘어남)
+ * 2. 늘렸는데도 처리량이 MIN_THROUGHPUT_GAIN 이상 늘지 않았으면 되돌리고, 한동안 그 크기 이상으로 늘리지 않음
+ * 3. CPU 사용률이 cpuCeiling 이상이면 늘리지 않음(CPU를 주로 사용하는 핸들러는 스레드를 늘려도 처리량이 늘지 않음)
+ * 4. 대기가 없고 절반 이상의 스레드가 놀고 있으면 10%씩 줄임
+ * <p>
+ * accept backlog(acceptCount)는 조정하지 않음.
+ * backlog는 서버 소켓을 바인딩할 때 listen()에 한 번 전달되는 값이라 실행 중에 바꿀 수 없고,
+ * 바꾸려면 커넥터를 다시 바인딩(연결 중단)해야 하기 때문에 server.tomcat.accept-count로 고정함.
+ */
+@Slf4j
+public class WorkerPoolTuner {
+
+    private static final double MIN_THROUGHPUT_GAIN = 0.05;
+    private static final double SATURATION = 0.9;
+    private static final int PLATEAU_HOLD_TICKS = 12;
+
+    private final InstrumentedTomcatExecutor executor;
+    private final HandlerLatencyInterceptor latencyInterceptor;
+    private final int minThreads;
+    private final int maxThreads;
+    private final double targetQueueWaitMs;
+    private final double cpuCeiling;
+    private final long intervalMs;
+    private final int historySize;
+
+    private final Deque<WorkerPoolSample> history = new ArrayDeque<>();
+    private final OperatingSystemMXBean operatingSystem = ManagementFactory.getOperatingSystemMXBean();
+
+    private volatile AbstractProtocol<?> protocol;
+    private ScheduledExecutorService scheduler;
+
+    private int lastGrowStep;
+    private double lastThroughput;
+    private int plateau;
+    private int plateauTicks;
+
+    public WorkerPoolTuner(InstrumentedTomcatExecutor executor, HandlerLatencyInterceptor latencyInterceptor,
+                           int minThreads, int maxThreads, double targetQueueWaitMs, double cpuCeiling, long intervalMs, int historySize) {
+        this.executor = executor;
+        this.latencyInterceptor = latencyInterceptor;
+        this.minThreads = minThreads;
+        this.maxThreads = maxThreads;
+        this.targetQueueWaitMs = targetQueueWaitMs;
+        this.cpuCeiling = cpuCeiling;
+        this.intervalMs = intervalMs;
+        this.historySize = historySize;
+    }
+
+    /**
+     * 커넥터 생성 시점에 호출되어 상태 조회 시 바인딩에 사용된 acceptCount를 읽을 프로토콜 핸들러를 연결함.
+     */
+    public void bind(AbstractProtocol<?> protocol) {
+        this.protocol = protocol;
+    }
+
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "worker-pool-tuner");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::tick, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * 지금까지의 구간 지표와 직전 결정을 버림.
+     * 시작 시 웜업 요청이 첫 구간의 처리량, 대기 시간에 섞이지 않도록 ApplicationReadyEvent 시점에 호출함.
+     */
+    public synchronized void reset() {
+        executor.drainWindow();
+        latencyInterceptor.drain();
+        lastGrowStep = 0;
+        lastThroughput = 0;
+        plateauTicks = 0;
+    }
+
+    public synchronized WorkerPoolStatus status() {
+        return new WorkerPoolStatus(executor.getMaximumPoolSize(), boundAcceptCount(),
+                minThreads, maxThreads, new ArrayList<>(history));
+    }
+
+    synchronized void tick() {
+        try {
+            InstrumentedTomcatExecutor.Window window = executor.drainWindow();
+            Map<String, Double> handlerLatency = latencyInterceptor.drain();
+            tick(window.getAverageQueueWaitMillis(), window.getDispatched() * 1000.0 / intervalMs,
+                    executor.getActiveCount(), executor.getQueue().size(), cpuLoad(), handlerLatency);
+        } catch (RuntimeException e) {
+            // 예외가 전파되면 이후 스케줄이 취소되므로 기록만 하고 다음 주기를 기다림
+            log.warn("worker pool tuning failed", e);
+        }
+    }
+
+    /**
+     * 한 구간의 지표로 최대 스레드 수를 결정함(테스트에서는 지표를 직접 넣어 호출)
+     */
+    synchronized void tick(double queueWaitMs, double throughput, int activeThreads, int queueSize, double cpuLoad,
+                           Map<String, Double> handlerLatency) {
+        int current = executor.getMaximumPoolSize();
+        int step = Math.max(1, current / 10);
+        boolean congested = queueWaitMs > targetQueueWaitMs || queueSize > 0;
+        boolean saturated = activeThreads >= current * SATURATION;
+        // 되돌린 다음 주기부터 PLATEAU_HOLD_TICKS 주기 동안 plateau 이상으로 늘리지 않음
+        boolean holdingPlateau = plateauTicks > 0;
+        if (holdingPlateau) {
+            plateauTicks--;
+        }
+
+        int next = current;
+        String action;
+        if (lastGrowStep > 0 && congested && throughput < lastThroughput * (1 + MIN_THROUGHPUT_GAIN)) {
+            next = Math.max(minThreads, current - lastGrowStep);
+            plateau = next;
+            plateauTicks = PLATEAU_HOLD_TICKS;
+            action = "revert: no throughput gain";
+        } else if (congested && saturated) {
+            if (cpuLoad >= cpuCeiling) {
+                action = "hold: cpu saturated";
+            } else if (current >= maxThreads) {
+                action = "hold: max threads bound";
+            } else if (holdingPlateau && current >= plateau) {
+                action = "hold: throughput plateau";
+            } else {
+                next = Math.min(maxThreads, current + step);
+                action = "grow";
+            }
+        } else if (!congested && activeThreads < current / 2 && current > minThreads) {
+            next = Math.max(minThreads, current - step);
+            action = "shrink";
+        } else {
+            action = "hold";
+        }
+
+        if (next != current) {
+            executor.setMaximumPoolSize(next);
+            log.info("worker pool {} {} -> {} (queueWaitMs={}, throughput={}, cpuLoad={})",
+                    action, current, next, queueWaitMs, throughput, cpuLoad);
+        }
+        lastGrowStep = next > current ? next - current : 0;
+        lastThroughput = throughput;
+
+        history.addLast(new WorkerPoolSample(System.currentTimeMillis(), executor.getPoolSize(), activeThreads,
+                queueSize, queueWaitMs, throughput, cpuLoad, next, action, handlerLatency));
+        while (history.size() > historySize) {
+            history.removeFirst();
+        }
+    }
+
+    /**
+     * 바인딩 이후에는 아무도 바꾸지 않으므로 프로토콜의 값이 곧 listen()에 전달된 값
+     */
+    private int boundAcceptCount() {
+        AbstractProtocol<?> boundProtocol = protocol;
+        return boundProtocol == null ? -1 : boundProtocol.getAcceptCount();
+    }
+
+    private double cpuLoad() {
+        if (operatingSystem instanceof com.sun.management.OperatingSystemMXBean) {
+            return ((com.sun.management.OperatingSystemMXBean) operatingSystem).getProcessCpuLoad();
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,27 @@
+package hello.springmvc.warmup;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.UUID;
+
+/**
+ * 웜업(WarmUpRunner)이 보내는 합성 요청 표시
+ * 헤더 값은 프로세스마다 새로 만드는 임의의 토큰이기 때문에 외부 요청이 헤더를 흉내 내서
+ * 추적, 지연 시간 수집, 로그에서 빠질 수 없음.
+ */
+public final class WarmUp {
+
+    public static final String HEADER_NAME = "X-Warm-Up";
+
+    private static final String TOKEN = UUID.randomUUID().toString();
+
+    private WarmUp() {
+    }
+
+    static String token() {
+        return TOKEN;
+    }
+
+    public static boolean isWarmUpRequest(HttpServletRequest request) {
+        return TOKEN.equals(request.getHeader(HEADER_NAME));
+    }
+}
@@ -0,0 +1,32 @@
+package hello.springmvc.warmup;
+
+import hello.springmvc.logging.RequestLogFlag;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * 웜업 요청을 처리하는 동안 RequestLogFlag.QUIET 플래그를 설정해서 핸들러의 WARN 미만 로그를 출력하지 않도록 하는 필터
+ */
+public class WarmUpFilter extends OncePerRequestFilter {
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !WarmUp.isWarmUpRequest(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestLogFlag.QUIET.enable();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestLogFlag.QUIET.disable();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package hello.springmvc.warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import hello.springmvc.basic.HelloData;
+import hello.springmvc.codec.CodecRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 애플리케이션 시작 직후, 트래픽을 받기 전에 실행하는 웜업
+ * 스프링 부트는 ApplicationRunner가 모두 끝난 후에 ApplicationReadyEvent와 ReadinessState.ACCEPTING_TRAFFIC을 발행하기 때문에
+ * 웜업이 끝나기 전에는 readiness 상태가 되지 않음.
+ * 1. CodecRegistry에 등록된 타입의 직렬화/역직렬화 반복
+ * 2. 내장 서버가 떠 있으면 주요 핸들러 경로로 합성(synthetic) 요청을 보내서
+ * 필터, ArgumentResolver, 메시지 컨버터, 뷰 렌더링 경로를 미리 실행(클래스 로딩, 최초 호출 초기화 목적이라 경로별 수십 번이면 충분함)
+ * 합성 요청에는 WarmUp 헤더를 붙여 추적, 핸들러 지연 시간 수집, WARN 미만 로그에서 제외함.
+ * <p>
+ * 웜업이 실패해도 애플리케이션 시작은 계속되고, 서버에 연결할 수 없으면(ex) 자체 서명 인증서) 나머지 요청 웜업을 건너뜀.
+ */
+@Slf4j
+public class WarmUpRunner implements ApplicationRunner {
+
+    private final CodecRegistry codecRegistry;
+    private final ApplicationContext applicationContext;
+    private final String scheme;
+    private final String contextPath;
+    private final int codecIterations;
+    private final int requestIterations;
+
+    /**
+     * @param scheme      http, https(server.ssl.enabled)
+     * @param contextPath server.servlet.context-path
+     */
+    public WarmUpRunner(CodecRegistry codecRegistry, ApplicationContext applicationContext, String scheme,
+                        String contextPath, int codecIterations, int requestIterations) {
+        this.codecRegistry = codecRegistry;
+        this.applicationContext = applicationContext;
+        this.scheme = scheme;
+        this.contextPath = contextPath;
+        this.codecIterations = codecIterations;
+        this.requestIterations = requestIterations;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.currentTimeMillis();
+        codecRegistry.warmUp(codecIterations);
+        log.info("codec warm-up finished in {} ms", System.currentTimeMillis() - start);
+
+        int port = localPort();
+        if (port <= 0 || requestIterations <= 0) {
+            return;
+        }
+
+        start = System.currentTimeMillis();
+        try {
+            warmUpHandlers(scheme + "://localhost:" + port + contextPath);
+        } catch (JsonProcessingException e) {
+            log.warn("handler warm-up skipped", e);
+        }
+        log.info("handler warm-up finished in {} ms", System.currentTimeMillis() - start);
+    }
+
+    private void warmUpHandlers(String baseUrl) throws JsonProcessingException {
+        String json = codecRegistry.writer(HelloData.class).writeValueAsString(codecRegistry.sample(HelloData.class));
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(WarmUp.HEADER_NAME, WarmUp.token());
+        HttpEntity<String> empty = new HttpEntity<>(headers);
+
+        HttpHeaders jsonHeaders = new HttpHeaders();
+        jsonHeaders.addAll(headers);
+        jsonHeaders.setContentType(MediaType.APPLICATION_JSON);
+        jsonHeaders.setAccept(Arrays.asList(MediaType.APPLICATION_JSON, MediaType.TEXT_PLAIN));
+        HttpEntity<String> jsonBody = new HttpEntity<>(json, jsonHeaders);
+
+        List<WarmUpRequest> requests = Arrays.asList(
+                new WarmUpRequest(HttpMethod.POST, "/request-body-json-v1", jsonBody),
+                new WarmUpRequest(HttpMethod.POST, "/request-body-json-v3", jsonBody),
+                new WarmUpRequest(HttpMethod.POST, "/request-body-json-v5", jsonBody),
+                new WarmUpRequest(HttpMethod.GET, "/request-param-v2?username=warmup&age=20", empty),
+                new WarmUpRequest(HttpMethod.GET, "/model-attribute-v2?username=warmup&age=20", empty),
+                new WarmUpRequest(HttpMethod.GET, "/response-body-json-v2", empty),
+                new WarmUpRequest(HttpMethod.GET, "/response-view-v2", empty),
+                new WarmUpRequest(HttpMethod.GET, "/mapping/users/1", empty));
+
+        RestTemplate restTemplate = new RestTemplate();
+        for (WarmUpRequest request : requests) {
+            try {
+                for (int i = 0; i < requestIterations; i++) {
+                    restTemplate.exchange(baseUrl + request.path, request.method, request.entity, String.class);
+                }
+            } catch (ResourceAccessException e) {
+                log.warn("handler warm-up skipped, server is not reachable at {}, reason = {}", baseUrl, e.getMessage());
+                return;
+            } catch (RestClientException e) {
+                log.warn("handler warm-up failed {} {}, reason = {}", request.method, request.path, e.getMessage());
+            }
+        }
+    }
+
+    private int localPort() {
+        if (applicationContext instanceof WebServerApplicationContext) {
+            WebServer webServer = ((WebServerApplicationContext) applicationContext).getWebServer();
+            return webServer == null ? -1 : webServer.getPort();
+        }
+        return -1;
+    }
+
+    private static final class WarmUpRequest {
+
+        final HttpMethod method;
+        final String path;
+        final HttpEntity<String> entity;
+
+        WarmUpRequest(HttpMethod method, String path, HttpEntity<String> entity) {
+            this.method = method;
+            this.path = path;
+            this.entity = entity;
+        }
+    }
+}
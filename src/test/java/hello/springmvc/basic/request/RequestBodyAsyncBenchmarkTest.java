@@ -0,0 +1,191 @@
+package hello.springmvc.basic.request;
+
+import hello.springmvc.config.AsyncConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 50ms의 I/O 지연이 있는 요청 바디 처리에서 동기 핸들러(/request-body-string-v4)와
+ * 비동기 핸들러(/request-body-string-async-v1, RequestBodyAsyncController)의 처리량 비교
+ * - 동기 : Tomcat 워커 스레드가 50ms 동안 대기(HandlerInterceptor로 지연 주입)
+ * - 비동기 : requestBodyExecutor 스레드가 50ms 동안 대기(TaskDecorator로 지연 주입), 워커 스레드는 즉시 반환
+ * - 두 방식 모두 워커 스레드 8개, 비동기 스레드 8개로 고정하고 동시 클라이언트 32개로 측정
+ * - 측정 중에 지연이 없는 핸들러(/mapping-get-v2)를 함께 호출해서 워커 스레드가 묶이는 영향을 확인
+ * 실행 : ./gradlew benchmark (일반 test 태스크에서는 제외)
+ */
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "hello.worker-pool.min-threads=8",
+        "hello.worker-pool.max-threads=8",
+        "hello.worker-pool.initial-threads=8",
+        "hello.async.core-pool-size=8",
+        "hello.async.max-pool-size=8",
+        "hello.async.queue-capacity=1000",
+        "hello.tracing.sample-rate=0",
+        "hello.warmup.enabled=false",
+        "logging.level.hello.springmvc.basic.request.RequestBodyStringController=WARN",
+        "logging.level.hello.springmvc.basic.request.RequestBodyAsyncController=WARN",
+        "logging.level.hello.springmvc.basic.requestmapping=WARN"
+})
+class RequestBodyAsyncBenchmarkTest {
+
+    static final long LATENCY_MS = 50;
+    static final int CLIENTS = 32;
+    static final long WARMUP_MS = 2_000;
+    static final long MEASURE_MS = 10_000;
+
+    @LocalServerPort
+    int port;
+
+    RestTemplate restTemplate = new RestTemplate();
+
+    @Test
+    void syncVsAsyncThroughput() throws InterruptedException {
+        Result sync = run("/request-body-string-v4");
+        Result async = run("/request-body-string-async-v1");
+
+        log.info("simulated latency = {} ms, worker threads = 8, async threads = 8, clients = {}, {} s", LATENCY_MS, CLIENTS, MEASURE_MS / 1000);
+        log.info("sync  : {}", sync);
+        log.info("async : {}", async);
+        assertThat(sync.ok.get()).isPositive();
+        assertThat(async.ok.get()).isPositive();
+    }
+
+    Result run(String path) throws InterruptedException {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.TEXT_PLAIN);
+        HttpEntity<String> body = new HttpEntity<>("hello", headers);
+        String url = "http://localhost:" + port + path;
+        String probeUrl = "http://localhost:" + port + "/mapping-get-v2";
+
+        load(url, body, WARMUP_MS, new Result());
+
+        Result result = new Result();
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<Long> probeNanos = Collections.synchronizedList(new ArrayList<>());
+        Thread probe = new Thread(() -> {
+            while (running.get()) {
+                long start = System.nanoTime();
+                restTemplate.getForObject(probeUrl, String.class);
+                probeNanos.add(System.nanoTime() - start);
+                sleep(20);
+            }
+        });
+        probe.start();
+        load(url, body, MEASURE_MS, result);
+        running.set(false);
+        probe.join();
+
+        result.throughput = result.ok.get() * 1000.0 / MEASURE_MS;
+        synchronized (probeNanos) {
+            Collections.sort(probeNanos);
+            result.probeP50Ms = probeNanos.get(probeNanos.size() / 2) / 1_000_000.0;
+            result.probeP99Ms = probeNanos.get((int) (probeNanos.size() * 0.99)) / 1_000_000.0;
+        }
+        return result;
+    }
+
+    void load(String url, HttpEntity<String> body, long durationMs, Result result) throws InterruptedException {
+        long end = System.currentTimeMillis() + durationMs;
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        for (int i = 0; i < CLIENTS; i++) {
+            clients.execute(() -> {
+                while (System.currentTimeMillis() < end) {
+                    try {
+                        restTemplate.postForObject(url, body, String.class);
+                        result.ok.incrementAndGet();
+                    } catch (RestClientException e) {
+                        result.failed.incrementAndGet();
+                    }
+                }
+            });
+        }
+        clients.shutdown();
+        assertThat(clients.awaitTermination(durationMs + 30_000, TimeUnit.MILLISECONDS)).isTrue();
+    }
+
+    static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    static class Result {
+        final AtomicInteger ok = new AtomicInteger();
+        final AtomicInteger failed = new AtomicInteger();
+        double throughput;
+        double probeP50Ms;
+        double probeP99Ms;
+
+        @Override
+        public String toString() {
+            return String.format("%.1f req/s (ok=%d, failed=%d), /mapping-get-v2 during load p50=%.1f ms p99=%.1f ms",
+                    throughput, ok.get(), failed.get(), probeP50Ms, probeP99Ms);
+        }
+    }
+
+    /**
+     * 동기 핸들러는 워커 스레드에서, 비동기 핸들러는 requestBodyExecutor 스레드에서 LATENCY_MS만큼 대기
+     */
+    @TestConfiguration
+    static class LatencyConfig implements WebMvcConfigurer {
+
+        @Override
+        public void addInterceptors(InterceptorRegistry registry) {
+            registry.addInterceptor(new HandlerInterceptor() {
+                @Override
+                public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                    sleep(LATENCY_MS);
+                    return true;
+                }
+            }).addPathPatterns("/request-body-string-v4");
+        }
+
+        @Bean
+        static BeanPostProcessor requestBodyExecutorLatency() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                    if (AsyncConfig.REQUEST_BODY_EXECUTOR.equals(beanName)) {
+                        ((ThreadPoolTaskExecutor) bean).setTaskDecorator(task -> () -> {
+                            sleep(LATENCY_MS);
+                            task.run();
+                        });
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package hello.springmvc.basic.request;
+
+import hello.springmvc.config.AsyncConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "hello.async.core-pool-size=1",
+        "hello.async.max-pool-size=1",
+        "hello.async.timeout-ms=500",
+        "hello.async.max-body-size=16",
+        "hello.warmup.enabled=false"
+})
+class RequestBodyNonBlockingServletTest {
+
+    static final String URL = "/request-body-string-async-v3";
+
+    @Autowired
+    TestRestTemplate restTemplate;
+
+    @Autowired
+    @Qualifier(AsyncConfig.REQUEST_BODY_EXECUTOR)
+    ThreadPoolTaskExecutor executor;
+
+    @Test
+    void readsBodyAndResponds() {
+        ResponseEntity<String> response = restTemplate.postForEntity(URL, "hello", String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo("ok");
+    }
+
+    @Test
+    void rejectsBodyLargerThanMaxBodySize() {
+        ResponseEntity<String> response = restTemplate.postForEntity(URL, "hello hello hello hello", String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.PAYLOAD_TOO_LARGE);
+    }
+
+    @Test
+    void timeoutRespondsServiceUnavailableAndLateWorkerDoesNotWrite() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch blocked = new CountDownLatch(1);
+        executor.execute(() -> {
+            blocked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        blocked.await();
+
+        ResponseEntity<String> timedOut = restTemplate.postForEntity(URL, "hello", String.class);
+        assertThat(timedOut.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+
+        // 타임아웃된 요청의 작업이 이제 실행되어도 다음 요청의 응답은 그대로여야 함
+        release.countDown();
+        ResponseEntity<String> next = restTemplate.postForEntity(URL, "world", String.class);
+        assertThat(next.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(next.getBody()).isEqualTo("ok");
+    }
+}
@@ -0,0 +1,95 @@
+package hello.springmvc.basic.store;
+
+import hello.springmvc.basic.HelloData;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IntSummaryStatistics;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static hello.springmvc.basic.store.HelloDataColumnStoreTest.helloData;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * List<HelloData>와 HelloDataColumnStore의 메모리 사용량, 집계(min/max/avg) 스캔 시간 비교
+ * 실행 : ./gradlew benchmark (일반 test 태스크에서는 제외)
+ */
+@Slf4j
+@Tag("benchmark")
+class HelloDataColumnStoreBenchmarkTest {
+
+    static final int RECORDS = 1_000_000;
+    static final int USERNAMES = 10_000;
+    static final int WARMUP_ROUNDS = 5;
+    static final int MEASURE_ROUNDS = 15;
+
+    @Test
+    void memoryAndScanSpeed() {
+        long before = usedHeap();
+        List<HelloData> list = new ArrayList<>(RECORDS);
+        for (int i = 0; i < RECORDS; i++) {
+            list.add(helloData("user" + (i % USERNAMES), i % 100));
+        }
+        long listBytes = usedHeap() - before;
+
+        before = usedHeap();
+        HelloDataColumnStore store = new HelloDataColumnStore();
+        for (int i = 0; i < RECORDS; i++) {
+            store.add(helloData("user" + (i % USERNAMES), i % 100));
+        }
+        long storeBytes = usedHeap() - before;
+
+        IntSummaryStatistics expected = list.stream().mapToInt(HelloData::getAge).summaryStatistics();
+        assertThat(store.stats()).isEqualTo(new HelloDataStats(expected.getCount(), expected.getMin(),
+                expected.getMax(), expected.getAverage()));
+
+        double listLoopMs = medianMillis(() -> {
+            long sum = 0;
+            int min = Integer.MAX_VALUE;
+            int max = Integer.MIN_VALUE;
+            for (HelloData helloData : list) {
+                int age = helloData.getAge();
+                sum += age;
+                min = Math.min(min, age);
+                max = Math.max(max, age);
+            }
+            return sum + min + max;
+        });
+        double listParallelMs = medianMillis(() -> list.parallelStream().mapToInt(HelloData::getAge).summaryStatistics());
+        double storeMs = medianMillis(store::stats);
+
+        log.info("records = {}, distinct usernames = {}", RECORDS, USERNAMES);
+        log.info("memory : List<HelloData> = {} MB, HelloDataColumnStore = {} MB",
+                listBytes / (1024 * 1024), storeBytes / (1024 * 1024));
+        log.info("stats scan (median of {}) : List loop = {} ms, List parallelStream = {} ms, HelloDataColumnStore = {} ms",
+                MEASURE_ROUNDS, listLoopMs, listParallelMs, storeMs);
+        assertThat(list).hasSize(RECORDS);
+    }
+
+    static double medianMillis(Supplier<?> scan) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            scan.get();
+        }
+
+        long[] nanos = new long[MEASURE_ROUNDS];
+        for (int i = 0; i < MEASURE_ROUNDS; i++) {
+            long start = System.nanoTime();
+            scan.get();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return nanos[MEASURE_ROUNDS / 2] / 1_000_000.0;
+    }
+
+    static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,116 @@
+package hello.springmvc.basic.store;
+
+import hello.springmvc.basic.HelloData;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+class HelloDataColumnStoreTest {
+
+    HelloDataColumnStore store = new HelloDataColumnStore();
+
+    @Test
+    void emptyStore() {
+        assertThat(store.count()).isZero();
+        assertThat(store.stats()).isEqualTo(new HelloDataStats(0, 0, 0, 0.0));
+        assertThat(store.histogram(10)).isEmpty();
+        assertThat(store.distinctUsernames()).isZero();
+    }
+
+    @Test
+    void stats() {
+        store.add(helloData("kim", 20));
+        store.add(helloData("lee", 35));
+        store.add(helloData("kim", 5));
+
+        assertThat(store.count()).isEqualTo(3);
+        assertThat(store.stats()).isEqualTo(new HelloDataStats(3, 5, 35, 20.0));
+    }
+
+    @Test
+    void histogram() {
+        store.add(helloData("a", 0));
+        store.add(helloData("b", 9));
+        store.add(helloData("c", 10));
+        store.add(helloData("d", 35));
+        store.add(helloData("e", -1));
+
+        assertThat(store.histogram(10)).containsExactly(
+                entry(-10L, 1L), entry(0L, 2L), entry(10L, 1L), entry(30L, 1L));
+    }
+
+    @Test
+    void histogramWithWideAgeRangeCountsOnlyUsedBuckets() {
+        store.add(helloData("a", 0));
+        store.add(helloData("b", 2_000_000_000));
+
+        assertThat(store.histogram(10)).containsExactly(entry(0L, 1L), entry(2_000_000_000L, 1L));
+    }
+
+    @Test
+    void histogramWithIntRangeLimits() {
+        store.add(helloData("a", Integer.MIN_VALUE));
+        store.add(helloData("b", Integer.MAX_VALUE));
+
+        assertThat(store.histogram(1)).containsExactly(
+                entry((long) Integer.MIN_VALUE, 1L), entry((long) Integer.MAX_VALUE, 1L));
+        assertThat(store.histogram(10)).containsExactly(
+                entry(-2_147_483_650L, 1L), entry(2_147_483_640L, 1L));
+    }
+
+    @Test
+    void histogramRejectsNonPositiveBucketSize() {
+        assertThatThrownBy(() -> store.histogram(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void distinctUsernames() {
+        store.add(helloData("kim", 20));
+        store.add(helloData("lee", 20));
+        store.add(helloData("kim", 30));
+        store.add(helloData(null, 40));
+
+        assertThat(store.distinctUsernames()).isEqualTo(2);
+    }
+
+    @Test
+    void clear() {
+        store.add(helloData("kim", 20));
+        store.clear();
+
+        assertThat(store.count()).isZero();
+        assertThat(store.distinctUsernames()).isZero();
+    }
+
+    @Test
+    void storeLargerThanOneSegment() {
+        int size = HelloDataColumnStore.SEGMENT_SIZE * 3 + 17;
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            store.add(helloData("user" + (i % 100), i % 50));
+            sum += i % 50;
+        }
+
+        assertThat(store.count()).isEqualTo(size);
+        HelloDataStats stats = store.stats();
+        assertThat(stats.getMinAge()).isEqualTo(0);
+        assertThat(stats.getMaxAge()).isEqualTo(49);
+        assertThat(stats.getAvgAge()).isEqualTo((double) sum / size);
+
+        Map<Long, Long> histogram = store.histogram(25);
+        assertThat(histogram.keySet()).containsExactly(0L, 25L);
+        assertThat(histogram.values().stream().mapToLong(Long::longValue).sum()).isEqualTo(size);
+        assertThat(store.distinctUsernames()).isEqualTo(100);
+    }
+
+    static HelloData helloData(String username, int age) {
+        HelloData helloData = new HelloData();
+        helloData.setUsername(username);
+        helloData.setAge(age);
+        return helloData;
+    }
+}
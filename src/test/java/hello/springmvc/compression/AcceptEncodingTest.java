@@ -0,0 +1,40 @@
+package hello.springmvc.compression;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AcceptEncodingTest {
+
+    @Test
+    void acceptsGzip() {
+        assertThat(AcceptEncoding.acceptsGzip("gzip")).isTrue();
+        assertThat(AcceptEncoding.acceptsGzip("gzip, deflate, br")).isTrue();
+        assertThat(AcceptEncoding.acceptsGzip("deflate, GZIP;q=0.5")).isTrue();
+        assertThat(AcceptEncoding.acceptsGzip("gzip; Q=0.001")).isTrue();
+    }
+
+    @Test
+    void rejectsGzipWithZeroQuality() {
+        assertThat(AcceptEncoding.acceptsGzip("gzip;q=0")).isFalse();
+        assertThat(AcceptEncoding.acceptsGzip("gzip;q=0.0, deflate")).isFalse();
+        assertThat(AcceptEncoding.acceptsGzip("gzip;q=abc")).isFalse();
+    }
+
+    @Test
+    void wildcard() {
+        assertThat(AcceptEncoding.acceptsGzip("*")).isTrue();
+        assertThat(AcceptEncoding.acceptsGzip("*;q=0")).isFalse();
+        assertThat(AcceptEncoding.acceptsGzip("*;q=0.5, gzip;q=0")).isFalse();
+        assertThat(AcceptEncoding.acceptsGzip("*;q=0, gzip")).isTrue();
+    }
+
+    @Test
+    void missingOrOtherEncodings() {
+        assertThat(AcceptEncoding.acceptsGzip((String) null)).isFalse();
+        assertThat(AcceptEncoding.acceptsGzip("")).isFalse();
+        assertThat(AcceptEncoding.acceptsGzip("identity")).isFalse();
+        assertThat(AcceptEncoding.acceptsGzip("deflate, br")).isFalse();
+        assertThat(AcceptEncoding.acceptsGzip("x-gzip-like")).isFalse();
+    }
+}
@@ -0,0 +1,95 @@
+package hello.springmvc.compression;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.Deflater;
+
+import static hello.springmvc.compression.DeflaterPoolTest.gunzip;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompressionFilterTest {
+
+    static final byte[] LARGE_BODY = "{\"username\":\"hello\"}".repeat(200).getBytes(StandardCharsets.UTF_8);
+
+    CompressionFilter filter = new CompressionFilter(new DeflaterPool(2, Deflater.DEFAULT_COMPRESSION), 1024,
+            List.of(MediaType.APPLICATION_JSON, MediaType.TEXT_PLAIN));
+
+    @Test
+    void compressesLargeResponse() throws Exception {
+        MockHttpServletResponse response = filter("gzip", MediaType.APPLICATION_JSON_VALUE, LARGE_BODY);
+
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(response.getHeader(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(gunzip(response.getContentAsByteArray())).isEqualTo(LARGE_BODY);
+    }
+
+    @Test
+    void skipsWhenGzipIsNotAcceptable() throws Exception {
+        MockHttpServletResponse response = filter("gzip;q=0", MediaType.APPLICATION_JSON_VALUE, LARGE_BODY);
+
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(response.getContentAsByteArray()).isEqualTo(LARGE_BODY);
+    }
+
+    @Test
+    void skipsSmallResponseAndOtherContentType() throws Exception {
+        byte[] small = "ok".getBytes(StandardCharsets.UTF_8);
+
+        MockHttpServletResponse smallResponse = filter("gzip", MediaType.TEXT_PLAIN_VALUE, small);
+        MockHttpServletResponse imageResponse = filter("gzip", MediaType.IMAGE_PNG_VALUE, LARGE_BODY);
+
+        assertThat(smallResponse.getContentAsByteArray()).isEqualTo(small);
+        assertThat(imageResponse.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(imageResponse.getContentAsByteArray()).isEqualTo(LARGE_BODY);
+    }
+
+    @Test
+    void invalidContentTypeKeepsOriginalBody() throws Exception {
+        MockHttpServletResponse response = filter("gzip", "not a media type", LARGE_BODY);
+
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(response.getContentAsByteArray()).isEqualTo(LARGE_BODY);
+    }
+
+    @Test
+    void identityClientStillGetsVaryForCompressibleType() throws Exception {
+        MockHttpServletResponse identity = filter("identity", MediaType.APPLICATION_JSON_VALUE, LARGE_BODY);
+        MockHttpServletResponse smallGzip = filter("gzip", MediaType.APPLICATION_JSON_VALUE, "ok".getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse image = filter("identity", MediaType.IMAGE_PNG_VALUE, LARGE_BODY);
+
+        assertThat(identity.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(identity.getHeaders(HttpHeaders.VARY)).containsExactly(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(identity.getContentAsByteArray()).isEqualTo(LARGE_BODY);
+        assertThat(smallGzip.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(smallGzip.getHeaders(HttpHeaders.VARY)).containsExactly(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(image.getHeader(HttpHeaders.VARY)).isNull();
+    }
+
+    MockHttpServletResponse filter(String acceptEncoding, String contentType, byte[] body) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/response-body-json-v2");
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        HttpServlet servlet = new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
+                resp.setContentType(contentType);
+                resp.getOutputStream().write(body);
+            }
+        };
+        filter.doFilter(request, response, new MockFilterChain(servlet));
+        return response;
+    }
+}
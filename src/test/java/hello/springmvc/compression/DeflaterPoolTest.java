@@ -0,0 +1,58 @@
+package hello.springmvc.compression;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DeflaterPoolTest {
+
+    DeflaterPool pool = new DeflaterPool(2, Deflater.DEFAULT_COMPRESSION);
+
+    @Test
+    void roundTripThroughGzipInputStream() throws IOException {
+        byte[] text = "hello spring mvc ".repeat(1000).getBytes(StandardCharsets.UTF_8);
+
+        byte[] compressed = pool.gzip(text);
+
+        assertThat(compressed.length).isLessThan(text.length);
+        assertThat(gunzip(compressed)).isEqualTo(text);
+    }
+
+    @Test
+    void roundTripEmptyAndIncompressibleInput() throws IOException {
+        byte[] random = new byte[100_000]; // BUFFER_SIZE보다 크고 압축되지 않는 데이터
+        new Random(42).nextBytes(random);
+
+        assertThat(gunzip(pool.gzip(new byte[0]))).isEmpty();
+        assertThat(gunzip(pool.gzip(random))).isEqualTo(random);
+    }
+
+    @Test
+    void reusesPooledDeflaters() throws IOException {
+        byte[] first = "first".getBytes(StandardCharsets.UTF_8);
+        byte[] second = "second".repeat(100).getBytes(StandardCharsets.UTF_8);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(gunzip(pool.gzip(first))).isEqualTo(first);
+            assertThat(gunzip(pool.gzip(second))).isEqualTo(second);
+        }
+        assertThat(pool.size()).isEqualTo(1);
+
+        pool.clear();
+        assertThat(pool.size()).isZero();
+    }
+
+    static byte[] gunzip(byte[] compressed) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package hello.springmvc.compression;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.HttpResource;
+import org.springframework.web.servlet.resource.PathResourceResolver;
+import org.springframework.web.servlet.resource.ResourceResolver;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryResourceResolverTest {
+
+    static final byte[] CONTENT = "hello".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path directory;
+
+    List<Resource> locations;
+    ResourceResolverChain chain;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Files.write(directory.resolve("hello.txt"), CONTENT);
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(directory.resolve("hello.txt.gz")))) {
+            out.write(CONTENT);
+        }
+
+        locations = List.of(new FileSystemResource(directory.toString() + "/"));
+        chain = chain(new InMemoryResourceResolver(1024), new EncodedResourceResolver(), new PathResourceResolver());
+    }
+
+    @Test
+    void gzipRequestGetsPrecompressedResource() {
+        Resource resource = chain.resolveResource(request("gzip, deflate"), "hello.txt", locations);
+
+        assertThat(contentEncoding(resource)).isEqualTo("gzip");
+    }
+
+    @Test
+    void zeroQualityGzipGetsIdentityResourceEvenAfterGzipIsCached() throws IOException {
+        chain.resolveResource(request("gzip"), "hello.txt", locations);
+
+        Resource resource = chain.resolveResource(request("gzip;q=0"), "hello.txt", locations);
+
+        assertThat(contentEncoding(resource)).isNull();
+        assertThat(resource.getInputStream().readAllBytes()).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void cachedResourceIsServedFromMemory() throws IOException {
+        Resource first = chain.resolveResource(request(null), "hello.txt", locations);
+        Files.delete(directory.resolve("hello.txt"));
+
+        Resource second = chain.resolveResource(request(null), "hello.txt", locations);
+
+        assertThat(second).isSameAs(first);
+        assertThat(second.getInputStream().readAllBytes()).isEqualTo(CONTENT);
+    }
+
+    static HttpServletRequest request(String acceptEncoding) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/hello.txt");
+        if (acceptEncoding != null) {
+            request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        return request;
+    }
+
+    static String contentEncoding(Resource resource) {
+        return resource instanceof HttpResource
+                ? ((HttpResource) resource).getResponseHeaders().getFirst(HttpHeaders.CONTENT_ENCODING) : null;
+    }
+
+    /**
+     * 스프링의 DefaultResourceResolverChain은 패키지 내부 클래스이기 때문에 같은 동작을 하는 체인을 직접 구성
+     */
+    static ResourceResolverChain chain(ResourceResolver... resolvers) {
+        return chain(List.of(resolvers), 0);
+    }
+
+    static ResourceResolverChain chain(List<ResourceResolver> resolvers, int index) {
+        return new ResourceResolverChain() {
+            @Override
+            public Resource resolveResource(HttpServletRequest request, String requestPath, List<? extends Resource> locations) {
+                return index < resolvers.size()
+                        ? resolvers.get(index).resolveResource(request, requestPath, locations, chain(resolvers, index + 1))
+                        : null;
+            }
+
+            @Override
+            public String resolveUrlPath(String resourcePath, List<? extends Resource> locations) {
+                return index < resolvers.size()
+                        ? resolvers.get(index).resolveUrlPath(resourcePath, locations, chain(resolvers, index + 1))
+                        : null;
+            }
+        };
+    }
+}
@@ -0,0 +1,82 @@
+package hello.springmvc.header;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.MethodParameter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.annotation.RequestHeaderMapMethodArgumentResolver;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.ToIntFunction;
+
+import static hello.springmvc.header.RequestHeadersTest.parameter;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @RequestHeader MultiValueMap 해석 시 스프링 기본 ArgumentResolver(모든 헤더를 새 Map에 복사)와
+ * RequestHeadersArgumentResolver의 요청당 할당 바이트 비교
+ * 실행 : ./gradlew benchmark (일반 test 태스크에서는 제외)
+ */
+@Slf4j
+@Tag("benchmark")
+class RequestHeadersBenchmarkTest {
+
+    static final int HEADERS = 20;
+    static final int WARMUP_ITERATIONS = 50_000;
+    static final int MEASURE_ITERATIONS = 200_000;
+
+    @Test
+    void allocationPerRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/headers");
+        for (int i = 0; i < HEADERS; i++) {
+            request.addHeader("X-Header-" + i, "value-" + i);
+        }
+        request.addHeader("Host", "localhost");
+        ServletWebRequest webRequest = new ServletWebRequest(request);
+        MethodParameter parameter = parameter(0);
+
+        HandlerMethodArgumentResolver spring = new RequestHeaderMapMethodArgumentResolver();
+        HandlerMethodArgumentResolver lazy = new RequestHeadersArgumentResolver();
+
+        ToIntFunction<MultiValueMap<String, String>> readOne = headers -> headers.get("Host").size();
+        ToIntFunction<MultiValueMap<String, String>> readAll = headers -> headers.toString().length();
+
+        log.info("headers per request = {}", HEADERS + 1);
+        log.info("read one header : spring = {} bytes/request, RequestHeaders = {} bytes/request",
+                bytesPerRequest(spring, parameter, webRequest, readOne),
+                bytesPerRequest(lazy, parameter, webRequest, readOne));
+        log.info("read all headers(toString) : spring = {} bytes/request, RequestHeaders = {} bytes/request",
+                bytesPerRequest(spring, parameter, webRequest, readAll),
+                bytesPerRequest(lazy, parameter, webRequest, readAll));
+    }
+
+    /**
+     * RequestHeaders는 요청 속성에 캐시되므로 매번 속성을 지워 새 요청과 같은 조건에서 측정
+     */
+    @SuppressWarnings("unchecked")
+    static long bytesPerRequest(HandlerMethodArgumentResolver resolver, MethodParameter parameter,
+                                ServletWebRequest webRequest, ToIntFunction<MultiValueMap<String, String>> read) throws Exception {
+        assertThat(resolver.supportsParameter(parameter)).isTrue();
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        long blackhole = 0;
+        long start = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS + MEASURE_ITERATIONS; i++) {
+            if (i == WARMUP_ITERATIONS) {
+                start = threadMXBean.getThreadAllocatedBytes(threadId);
+            }
+            webRequest.getRequest().removeAttribute(RequestHeaders.class.getName());
+            MultiValueMap<String, String> headers =
+                    (MultiValueMap<String, String>) resolver.resolveArgument(parameter, null, webRequest, null);
+            blackhole += read.applyAsInt(headers);
+        }
+        long allocated = threadMXBean.getThreadAllocatedBytes(threadId) - start;
+        assertThat(blackhole).isPositive();
+        return allocated / MEASURE_ITERATIONS;
+    }
+}
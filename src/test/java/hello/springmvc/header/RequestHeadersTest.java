@@ -0,0 +1,107 @@
+package hello.springmvc.header;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RequestHeadersTest {
+
+    @Test
+    void getReadsOnlyRequestedHeaders() {
+        RecordingRequest request = request();
+
+        RequestHeaders headers = RequestHeaders.of(request);
+        List<String> accept = headers.get("Accept");
+        headers.get("accept");
+
+        assertThat(accept).containsExactly("text/html", "application/json");
+        assertThat(headers.get("X-Missing")).isNull();
+        assertThat(request.headerReads).containsExactly("accept", "x-missing");
+        assertThat(request.headerNameReads).isZero();
+    }
+
+    @Test
+    void entrySetMaterializesAllHeadersOnce() {
+        RecordingRequest request = request();
+        RequestHeaders headers = RequestHeaders.of(request);
+
+        assertThat(headers.keySet()).containsExactly("Host", "Accept", "User-Agent");
+        assertThat(headers.size()).isEqualTo(3);
+        assertThat(request.headerNameReads).isEqualTo(1);
+    }
+
+    @Test
+    void sharedPerRequestAndReadOnly() {
+        RecordingRequest request = request();
+
+        assertThat(RequestHeaders.of(request)).isSameAs(RequestHeaders.of(request));
+        assertThatThrownBy(() -> RequestHeaders.of(request).add("Host", "other"))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void resolverClaimsOnlyUnannotatedLocaleAndHttpMethod() throws NoSuchMethodException {
+        RequestHeadersArgumentResolver resolver = new RequestHeadersArgumentResolver();
+
+        assertThat(resolver.supportsParameter(parameter(0))).isTrue();
+        assertThat(resolver.supportsParameter(parameter(1))).isTrue();
+        assertThat(resolver.supportsParameter(parameter(2))).isTrue();
+        assertThat(resolver.supportsParameter(parameter(3))).isFalse();
+        assertThat(resolver.supportsParameter(parameter(4))).isFalse();
+        assertThat(resolver.supportsParameter(parameter(5))).isFalse();
+    }
+
+    @SuppressWarnings("unused")
+    void handler(@RequestHeader MultiValueMap<String, String> headerMap, HttpMethod httpMethod, Locale locale,
+                 @RequestParam Locale localeParam, @PathVariable HttpMethod methodPath,
+                 @RequestHeader("host") MultiValueMap<String, String> host) {
+    }
+
+    static MethodParameter parameter(int index) throws NoSuchMethodException {
+        return new MethodParameter(RequestHeadersTest.class.getDeclaredMethod("handler", MultiValueMap.class,
+                HttpMethod.class, Locale.class, Locale.class, HttpMethod.class, MultiValueMap.class), index);
+    }
+
+    static RecordingRequest request() {
+        RecordingRequest request = new RecordingRequest();
+        request.addHeader("Host", "localhost");
+        request.addHeader("Accept", "text/html");
+        request.addHeader("Accept", "application/json");
+        request.addHeader("User-Agent", "test");
+        return request;
+    }
+
+    /**
+     * 컨테이너에서 어떤 헤더를 읽었는지 기록하는 요청
+     */
+    static class RecordingRequest extends MockHttpServletRequest {
+
+        final List<String> headerReads = new ArrayList<>();
+        int headerNameReads;
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            headerReads.add(name);
+            return super.getHeaders(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaderNames() {
+            headerNameReads++;
+            return super.getHeaderNames();
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package hello.springmvc.idempotency;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdempotencyFilterTest {
+
+    IdempotencyStore store = new IdempotencyStore(100, 1024 * 1024, 60_000);
+    IdempotencyFilter filter = new IdempotencyFilter(store, "/mapping/users", 1024, 1024, 5_000);
+
+    @Test
+    void replayDoesNotRunHandlerAgain() throws Exception {
+        CountingHandler handler = new CountingHandler(HttpServletResponse.SC_CREATED);
+
+        MockHttpServletResponse first = filter(request("key-1", "{\"age\":20}"), handler);
+        MockHttpServletResponse second = filter(request("key-1", "{\"age\":20}"), handler);
+
+        assertThat(handler.calls.get()).isEqualTo(1);
+        assertThat(second.getStatus()).isEqualTo(HttpServletResponse.SC_CREATED);
+        assertThat(second.getContentAsString()).isEqualTo(first.getContentAsString()).isEqualTo("{\"age\":20}");
+        assertThat(second.getHeader(IdempotencyFilter.IDEMPOTENT_REPLAYED)).isEqualTo("true");
+    }
+
+    @Test
+    void reusedKeyWithDifferentPayloadIsRejected() throws Exception {
+        CountingHandler handler = new CountingHandler(HttpServletResponse.SC_CREATED);
+        filter(request("key-1", "{\"age\":20}"), handler);
+
+        MockHttpServletResponse response = filter(request("key-1", "{\"age\":30}"), handler);
+
+        assertThat(response.getStatus()).isEqualTo(422);
+        assertThat(handler.calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void serverErrorReleasesKey() throws Exception {
+        CountingHandler failing = new CountingHandler(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        CountingHandler handler = new CountingHandler(HttpServletResponse.SC_CREATED);
+
+        filter(request("key-1", "{}"), failing);
+        MockHttpServletResponse retry = filter(request("key-1", "{}"), handler);
+
+        assertThat(retry.getStatus()).isEqualTo(HttpServletResponse.SC_CREATED);
+        assertThat(retry.getHeader(IdempotencyFilter.IDEMPOTENT_REPLAYED)).isNull();
+        assertThat(handler.calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentDuplicateWaitsForFirstRequest() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch proceed = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        HttpServlet slowHandler = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                calls.incrementAndGet();
+                entered.countDown();
+                try {
+                    proceed.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                resp.setStatus(HttpServletResponse.SC_CREATED);
+                resp.getWriter().write("created");
+            }
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<MockHttpServletResponse> first = executor.submit(() -> filter(request("key-1", "{}"), slowHandler));
+            assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<MockHttpServletResponse> second = executor.submit(() -> filter(request("key-1", "{}"), slowHandler));
+
+            Thread.sleep(100);
+            assertThat(second.isDone()).isFalse();
+            proceed.countDown();
+
+            assertThat(first.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(HttpServletResponse.SC_CREATED);
+            MockHttpServletResponse waited = second.get(5, TimeUnit.SECONDS);
+            assertThat(waited.getStatus()).isEqualTo(HttpServletResponse.SC_CREATED);
+            assertThat(waited.getContentAsString()).isEqualTo("created");
+            assertThat(calls.get()).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void oversizedRequestBodyIsRejected() throws Exception {
+        CountingHandler handler = new CountingHandler(HttpServletResponse.SC_CREATED);
+
+        MockHttpServletResponse response = filter(request("key-1", "x".repeat(2048)), handler);
+
+        assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+        assertThat(handler.calls.get()).isZero();
+        assertThat(store.size()).isZero();
+    }
+
+    @Test
+    void rejectsWhenEveryEntryIsInFlight() throws Exception {
+        IdempotencyStore fullStore = new IdempotencyStore(1, 1024, 60_000);
+        fullStore.acquire("in-flight", "x");
+        IdempotencyFilter fullFilter = new IdempotencyFilter(fullStore, "/mapping/users", 1024, 1024, 5_000);
+        CountingHandler handler = new CountingHandler(HttpServletResponse.SC_CREATED);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        fullFilter.doFilter(request("key-1", "{}"), response, new MockFilterChain(handler));
+
+        assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        assertThat(handler.calls.get()).isZero();
+    }
+
+    @Test
+    void nonBlockingHandlerReadsCachedBody() throws Exception {
+        MockHttpServletRequest request = request("key-1", "{\"age\":20}");
+        request.setAsyncSupported(true);
+        HttpServlet nonBlockingHandler = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                AsyncContext asyncContext = req.startAsync();
+                ServletInputStream inputStream = req.getInputStream();
+                ByteArrayOutputStream body = new ByteArrayOutputStream();
+                inputStream.setReadListener(new ReadListener() {
+                    @Override
+                    public void onDataAvailable() throws IOException {
+                        byte[] buffer = new byte[4];
+                        int length;
+                        while (inputStream.isReady() && (length = inputStream.read(buffer)) != -1) {
+                            body.write(buffer, 0, length);
+                        }
+                    }
+
+                    @Override
+                    public void onAllDataRead() throws IOException {
+                        resp.setStatus(HttpServletResponse.SC_CREATED);
+                        resp.getOutputStream().write(body.toByteArray());
+                        asyncContext.complete();
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        resp.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+                        asyncContext.complete();
+                    }
+                });
+            }
+        };
+
+        MockHttpServletResponse response = filter(request, nonBlockingHandler);
+
+        assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_CREATED);
+        assertThat(response.getContentAsString()).isEqualTo("{\"age\":20}");
+    }
+
+    @Test
+    void formContentTypeWithCharsetUsesParameters() throws Exception {
+        CountingHandler handler = new CountingHandler(HttpServletResponse.SC_CREATED);
+
+        MockHttpServletResponse first = filter(formRequest("key-1", "kim"), handler);
+        MockHttpServletResponse replay = filter(formRequest("key-1", "kim"), handler);
+        MockHttpServletResponse mismatch = filter(formRequest("key-1", "lee"), handler);
+
+        assertThat(first.getStatus()).isEqualTo(HttpServletResponse.SC_CREATED);
+        assertThat(replay.getHeader(IdempotencyFilter.IDEMPOTENT_REPLAYED)).isEqualTo("true");
+        assertThat(mismatch.getStatus()).isEqualTo(422);
+        assertThat(handler.calls.get()).isEqualTo(1);
+    }
+
+    static MockHttpServletRequest formRequest(String idempotencyKey, String username) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/mapping/users");
+        request.setServletPath("/mapping/users");
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY, idempotencyKey);
+        request.setContentType("Application/X-WWW-Form-Urlencoded;charset=UTF-8");
+        request.addParameter("username", username);
+        return request;
+    }
+
+    MockHttpServletResponse filter(MockHttpServletRequest request, HttpServlet handler) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain(handler));
+        return response;
+    }
+
+    static MockHttpServletRequest request(String idempotencyKey, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/mapping/users");
+        request.setServletPath("/mapping/users");
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY, idempotencyKey);
+        request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    /**
+     * 요청 바디를 그대로 응답하는 핸들러
+     */
+    static class CountingHandler extends HttpServlet {
+
+        final AtomicInteger calls = new AtomicInteger();
+        final int status;
+
+        CountingHandler(int status) {
+            this.status = status;
+        }
+
+        @Override
+        protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+            calls.incrementAndGet();
+            resp.setStatus(status);
+            resp.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            resp.getOutputStream().write(req.getInputStream().readAllBytes());
+        }
+    }
+}
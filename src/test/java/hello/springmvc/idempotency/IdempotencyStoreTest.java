@@ -0,0 +1,140 @@
+package hello.springmvc.idempotency;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdempotencyStoreTest {
+
+    static final long MAX_BYTES = 1024 * 1024;
+
+    @Test
+    void secondAcquireSharesFirstEntry() {
+        IdempotencyStore store = new IdempotencyStore(10, MAX_BYTES, 60_000);
+
+        IdempotencyStore.Acquisition first = store.acquire("k", "a");
+        IdempotencyStore.Acquisition second = store.acquire("k", "a");
+
+        assertThat(first.isOwner()).isTrue();
+        assertThat(second.isOwner()).isFalse();
+        assertThat(second.isPayloadMismatch()).isFalse();
+        assertThat(second.entry()).isSameAs(first.entry());
+    }
+
+    @Test
+    void differentFingerprintIsMismatch() {
+        IdempotencyStore store = new IdempotencyStore(10, MAX_BYTES, 60_000);
+        store.acquire("k", "a");
+
+        IdempotencyStore.Acquisition other = store.acquire("k", "b");
+
+        assertThat(other.isOwner()).isFalse();
+        assertThat(other.isPayloadMismatch()).isTrue();
+        assertThat(store.stats().getMismatched()).isEqualTo(1);
+    }
+
+    @Test
+    void completeWithoutResponseLetsNextRequestExecute() {
+        IdempotencyStore store = new IdempotencyStore(10, MAX_BYTES, 60_000);
+        IdempotencyStore.Acquisition first = store.acquire("k", "a");
+
+        store.complete("k", first.entry(), null);
+
+        assertThat(first.entry().future()).isCompletedWithValue(null);
+        assertThat(store.size()).isZero();
+        assertThat(store.acquire("k", "a").isOwner()).isTrue();
+    }
+
+    @Test
+    void staleCompleteKeepsNewerEntry() {
+        IdempotencyStore store = new IdempotencyStore(10, MAX_BYTES, 60_000);
+        IdempotencyStore.Acquisition stale = store.acquire("k", "a");
+        store.complete("k", stale.entry(), null);
+        IdempotencyStore.Acquisition fresh = store.acquire("k", "a");
+
+        store.complete("k", stale.entry(), response(10));
+
+        assertThat(fresh.isOwner()).isTrue();
+        assertThat(store.acquire("k", "a").entry()).isSameAs(fresh.entry());
+        assertThat(store.bytes()).isZero();
+    }
+
+    @Test
+    void staysWithinMaxEntries() {
+        IdempotencyStore store = new IdempotencyStore(100, MAX_BYTES, 60_000);
+
+        for (int i = 0; i < 1_000; i++) {
+            IdempotencyStore.Acquisition acquisition = store.acquire("k" + i, "a");
+            store.complete("k" + i, acquisition.entry(), i % 3 == 0 ? null : response(10));
+        }
+
+        assertThat(store.size()).isLessThanOrEqualTo(100);
+        assertThat(store.acquire("k998", "a").isOwner()).isFalse();
+        assertThat(store.acquire("k1", "a").isOwner()).isTrue();
+    }
+
+    @Test
+    void inFlightEntriesAreNeverEvicted() {
+        IdempotencyStore store = new IdempotencyStore(2, MAX_BYTES, 60_000);
+        IdempotencyStore.Acquisition a = store.acquire("a", "x");
+        store.acquire("b", "x");
+
+        IdempotencyStore.Acquisition c = store.acquire("c", "x");
+        IdempotencyStore.Acquisition retryOfA = store.acquire("a", "x");
+
+        assertThat(c.isRejected()).isTrue();
+        assertThat(retryOfA.isOwner()).isFalse();
+        assertThat(retryOfA.entry()).isSameAs(a.entry());
+        assertThat(store.stats().getRejected()).isEqualTo(1);
+
+        store.complete("a", a.entry(), response(10));
+        assertThat(store.acquire("c", "x").isOwner()).isTrue();
+        assertThat(store.acquire("b", "x").isOwner()).isFalse();
+    }
+
+    @Test
+    void staysWithinMaxBytes() {
+        IdempotencyStore store = new IdempotencyStore(100, 100, 60_000);
+
+        for (int i = 0; i < 10; i++) {
+            IdempotencyStore.Acquisition acquisition = store.acquire("k" + i, "a");
+            store.complete("k" + i, acquisition.entry(), response(40));
+        }
+
+        assertThat(store.bytes()).isEqualTo(80);
+        assertThat(store.size()).isEqualTo(2);
+        assertThat(store.acquire("k9", "a").isOwner()).isFalse();
+    }
+
+    @Test
+    void responseLargerThanBudgetIsDeliveredButNotKept() {
+        IdempotencyStore store = new IdempotencyStore(100, 10, 60_000);
+        IdempotencyStore.Acquisition acquisition = store.acquire("k", "a");
+        StoredResponse stored = response(20);
+
+        store.complete("k", acquisition.entry(), stored);
+
+        assertThat(acquisition.entry().future()).isCompletedWithValue(stored);
+        assertThat(store.size()).isZero();
+        assertThat(store.bytes()).isZero();
+    }
+
+    @Test
+    void expiredEntryIsReplaced() throws InterruptedException {
+        IdempotencyStore store = new IdempotencyStore(10, MAX_BYTES, 20);
+        IdempotencyStore.Acquisition first = store.acquire("k", "a");
+        store.complete("k", first.entry(), response(10));
+        store.acquire("other", "a");
+
+        Thread.sleep(50);
+        IdempotencyStore.Acquisition second = store.acquire("k", "b");
+
+        assertThat(second.isOwner()).isTrue();
+        assertThat(second.entry()).isNotSameAs(first.entry());
+        assertThat(store.size()).isEqualTo(2);
+    }
+
+    static StoredResponse response(int size) {
+        return new StoredResponse(200, "text/plain", new byte[size]);
+    }
+}
@@ -0,0 +1,78 @@
+package hello.springmvc.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DebugModeFilterTest {
+
+    LoggerContext loggerContext = new LoggerContext();
+    Logger logger = loggerContext.getLogger("hello.springmvc.basic.LogTestController");
+    ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void setUp() {
+        RequestLogTurboFilter turboFilter = RequestLogTurboFilter.force(RequestLogFlag.DEBUG, "hello.springmvc", Level.TRACE);
+        turboFilter.start();
+        loggerContext.addTurboFilter(turboFilter);
+        loggerContext.getLogger(Logger.ROOT_LOGGER_NAME).setLevel(Level.WARN);
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @Test
+    void requestWithoutTokenGetsNoDebugOutput() throws Exception {
+        filter(new DebugModeFilter("secret"), request(null));
+        filter(new DebugModeFilter("secret"), request("wrong"));
+
+        assertThat(appender.list).isEmpty();
+    }
+
+    @Test
+    void emptyTokenNeverEnablesDebugMode() throws Exception {
+        filter(new DebugModeFilter(""), request(""));
+        filter(new DebugModeFilter(null), request(null));
+
+        assertThat(appender.list).isEmpty();
+    }
+
+    @Test
+    void requestWithTokenGetsDebugOutput() throws Exception {
+        filter(new DebugModeFilter("secret"), request("secret"));
+
+        assertThat(appender.list).extracting(ILoggingEvent::getLevel).containsExactly(Level.DEBUG);
+        assertThat(RequestLogFlag.DEBUG.isEnabled()).isFalse();
+    }
+
+    void filter(DebugModeFilter filter, MockHttpServletRequest request) throws Exception {
+        HttpServlet handler = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                logger.debug("debug log");
+            }
+        };
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain(handler));
+    }
+
+    static MockHttpServletRequest request(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/log-test");
+        request.addHeader(DebugModeFilter.HEADER_NAME, DebugModeFilter.HEADER_VALUE);
+        if (token != null) {
+            request.addHeader(DebugModeFilter.TOKEN_HEADER_NAME, token);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,135 @@
+package hello.springmvc.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import hello.springmvc.basic.LogTestController;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.io.OutputStream;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * /log-test 핸들러(trace ~ error 로그 5개) 호출 비용을 로그 레벨(INFO, WARN)과 RequestLogTurboFilter 등록 여부별로 비교
+ * 출력은 스프링 부트 콘솔 패턴과 비슷한 패턴으로 포맷한 후 버림(콘솔 I/O 제외).
+ * 실행 : ./gradlew benchmark (일반 test 태스크에서는 제외)
+ */
+@Slf4j
+@Tag("benchmark")
+class LogTestBenchmarkTest {
+
+    static final int CALLS_PER_ROUND = 20_000;
+    static final int WARMUP_ROUNDS = 10;
+    static final int MEASURE_ROUNDS = 15;
+
+    LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+    LogTestController controller = new LogTestController();
+    RequestLogTurboFilter turboFilter = RequestLogTurboFilter.force(RequestLogFlag.DEBUG, "hello.springmvc", Level.TRACE);
+
+    @Test
+    void logLevelAndTurboFilter() {
+        Logger logger = loggerContext.getLogger(LogTestController.class);
+        Level originalLevel = logger.getLevel();
+        boolean originalAdditive = logger.isAdditive();
+        OutputStreamAppender<ILoggingEvent> appender = nullAppender();
+        logger.addAppender(appender);
+        logger.setAdditive(false);
+
+        turboFilter.setContext(loggerContext);
+        turboFilter.start();
+        try {
+            Runnable[] configurations = {
+                    () -> configure(logger, Level.INFO, null, false),
+                    () -> configure(logger, Level.WARN, null, false),
+                    () -> configure(logger, Level.INFO, turboFilter, false),
+                    () -> configure(logger, Level.WARN, turboFilter, false),
+                    () -> configure(logger, Level.WARN, turboFilter, true)
+            };
+            double[] nanos = nanosPerCall(configurations);
+
+            log.info("/log-test ns/call (median of {} interleaved rounds x {} calls)", MEASURE_ROUNDS, CALLS_PER_ROUND);
+            log.info("INFO : no turbo filter = {}, turbo filter = {}", Math.round(nanos[0]), Math.round(nanos[2]));
+            log.info("WARN : no turbo filter = {}, turbo filter = {}", Math.round(nanos[1]), Math.round(nanos[3]));
+            log.info("WARN + 'mode: debug' request(TRACE) = {}", Math.round(nanos[4]));
+            assertThat(nanos[1]).isLessThan(nanos[0]);
+        } finally {
+            RequestLogFlag.DEBUG.disable();
+            turboFilter.stop();
+            logger.detachAppender(appender);
+            appender.stop();
+            logger.setAdditive(originalAdditive);
+            logger.setLevel(originalLevel);
+        }
+    }
+
+    void configure(Logger logger, Level level, RequestLogTurboFilter turboFilter, boolean debugRequest) {
+        RequestLogFlag.DEBUG.disable();
+        loggerContext.getTurboFilterList().remove(this.turboFilter);
+        logger.setLevel(level);
+        if (turboFilter != null) {
+            loggerContext.addTurboFilter(turboFilter);
+        }
+        if (debugRequest) {
+            RequestLogFlag.DEBUG.enable();
+        }
+    }
+
+    /**
+     * JIT 최적화 시점에 따른 순서 영향을 줄이기 위해 설정별로 한 라운드씩 번갈아 측정
+     */
+    double[] nanosPerCall(Runnable[] configurations) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            for (Runnable configuration : configurations) {
+                configuration.run();
+                round();
+            }
+        }
+
+        long[][] nanos = new long[configurations.length][MEASURE_ROUNDS];
+        for (int i = 0; i < MEASURE_ROUNDS; i++) {
+            for (int c = 0; c < configurations.length; c++) {
+                configurations[c].run();
+                long start = System.nanoTime();
+                round();
+                nanos[c][i] = System.nanoTime() - start;
+            }
+        }
+
+        double[] median = new double[configurations.length];
+        for (int c = 0; c < configurations.length; c++) {
+            Arrays.sort(nanos[c]);
+            median[c] = (double) nanos[c][MEASURE_ROUNDS / 2] / CALLS_PER_ROUND;
+        }
+        return median;
+    }
+
+    void round() {
+        int length = 0;
+        for (int i = 0; i < CALLS_PER_ROUND; i++) {
+            length += controller.logTest().length();
+        }
+        assertThat(length).isEqualTo(2 * CALLS_PER_ROUND);
+    }
+
+    OutputStreamAppender<ILoggingEvent> nullAppender() {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(loggerContext);
+        encoder.setPattern("%d{yyyy-MM-dd HH:mm:ss.SSS} %5p %t --- %-40.40logger{39} : %m%n");
+        encoder.start();
+
+        OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>();
+        appender.setContext(loggerContext);
+        appender.setEncoder(encoder);
+        appender.setOutputStream(OutputStream.nullOutputStream());
+        appender.start();
+        return appender;
+    }
+}
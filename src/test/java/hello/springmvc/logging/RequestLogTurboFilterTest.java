@@ -0,0 +1,78 @@
+package hello.springmvc.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestLogTurboFilterTest {
+
+    LoggerContext loggerContext = new LoggerContext();
+    RequestLogTurboFilter debugFilter = RequestLogTurboFilter.force(RequestLogFlag.DEBUG, "hello.springmvc", Level.TRACE);
+    RequestLogTurboFilter quietFilter = RequestLogTurboFilter.suppress(RequestLogFlag.QUIET, Logger.ROOT_LOGGER_NAME, Level.WARN);
+
+    @AfterEach
+    void tearDown() {
+        RequestLogFlag.DEBUG.disable();
+        RequestLogFlag.QUIET.disable();
+    }
+
+    @Test
+    void acceptsPrefixLoggerAndChildrenOnlyInDebugMode() {
+        assertThat(decide(debugFilter, "hello.springmvc.basic.LogTestController", Level.DEBUG)).isEqualTo(FilterReply.NEUTRAL);
+
+        RequestLogFlag.DEBUG.enable();
+
+        assertThat(decide(debugFilter, "hello.springmvc", Level.TRACE)).isEqualTo(FilterReply.ACCEPT);
+        assertThat(decide(debugFilter, "hello.springmvc.basic.LogTestController", Level.DEBUG)).isEqualTo(FilterReply.ACCEPT);
+    }
+
+    @Test
+    void ignoresSiblingPackagesWithSamePrefix() {
+        RequestLogFlag.DEBUG.enable();
+
+        assertThat(decide(debugFilter, "hello.springmvcx.Other", Level.DEBUG)).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(decide(debugFilter, "hello.springmvc2", Level.DEBUG)).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(decide(debugFilter, "hello", Level.DEBUG)).isEqualTo(FilterReply.NEUTRAL);
+    }
+
+    @Test
+    void deniesBelowLevelForAllLoggersOnlyInQuietMode() {
+        assertThat(decide(quietFilter, "org.springframework.web", Level.INFO)).isEqualTo(FilterReply.NEUTRAL);
+
+        RequestLogFlag.QUIET.enable();
+
+        assertThat(decide(quietFilter, "org.springframework.web", Level.INFO)).isEqualTo(FilterReply.DENY);
+        assertThat(decide(quietFilter, "hello.springmvc.basic.LogTestController", Level.DEBUG)).isEqualTo(FilterReply.DENY);
+        assertThat(decide(quietFilter, "hello.springmvc.basic.LogTestController", Level.WARN)).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(decide(quietFilter, "hello.springmvc.basic.LogTestController", Level.ERROR)).isEqualTo(FilterReply.NEUTRAL);
+    }
+
+    @Test
+    void wrapCarriesOnlyItsOwnFlagToAnotherThread() throws InterruptedException {
+        RequestLogFlag.DEBUG.enable();
+        AtomicBoolean debug = new AtomicBoolean();
+        AtomicBoolean quiet = new AtomicBoolean(true);
+
+        Thread thread = new Thread(RequestLogFlag.DEBUG.wrap(() -> {
+            debug.set(RequestLogFlag.DEBUG.isEnabled());
+            quiet.set(RequestLogFlag.QUIET.isEnabled());
+        }));
+        thread.start();
+        thread.join();
+
+        assertThat(debug).isTrue();
+        assertThat(quiet).isFalse();
+        assertThat(RequestLogFlag.QUIET.isEnabled()).isFalse();
+    }
+
+    FilterReply decide(RequestLogTurboFilter turboFilter, String loggerName, Level level) {
+        return turboFilter.decide(null, loggerContext.getLogger(loggerName), level, "message", null, null);
+    }
+}
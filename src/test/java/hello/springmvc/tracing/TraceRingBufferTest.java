@@ -0,0 +1,45 @@
+package hello.springmvc.tracing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TraceRingBufferTest {
+
+    @Test
+    void snapshotIsNewestFirstAndKeepsLastCapacityTraces() {
+        TraceRingBuffer ringBuffer = publish(new TraceRingBuffer(4), 6);
+
+        assertThat(ringBuffer.snapshot(10, 0)).extracting(Trace::getId).containsExactly(5L, 4L, 3L, 2L);
+        assertThat(ringBuffer.snapshot(2, 0)).extracting(Trace::getId).containsExactly(5L, 4L);
+    }
+
+    @Test
+    void limitIsClampedToZeroAndCapacity() {
+        TraceRingBuffer ringBuffer = publish(new TraceRingBuffer(4), 4);
+
+        assertThat(ringBuffer.snapshot(-1, 0)).isEmpty();
+        assertThat(ringBuffer.snapshot(Integer.MIN_VALUE, 0)).isEmpty();
+        assertThat(ringBuffer.snapshot(Integer.MAX_VALUE, 0)).hasSize(ringBuffer.capacity());
+    }
+
+    @Test
+    void filtersByMinDuration() {
+        TraceRingBuffer ringBuffer = publish(new TraceRingBuffer(4), 4);
+
+        List<Trace> traces = ringBuffer.snapshot(10, 2);
+
+        assertThat(traces).extracting(Trace::getId).containsExactly(3L, 2L);
+    }
+
+    static TraceRingBuffer publish(TraceRingBuffer ringBuffer, int count) {
+        for (int i = 0; i < count; i++) {
+            long id = ringBuffer.nextId();
+            ringBuffer.publish(new Trace(id, "GET", "/t", 200, 0, id, "head", false, Collections.emptyList()));
+        }
+        return ringBuffer;
+    }
+}
@@ -0,0 +1,51 @@
+package hello.springmvc.tracing;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TracingFilterTest {
+
+    TraceRingBuffer ringBuffer = new TraceRingBuffer(16);
+    TracingFilter filter = new TracingFilter(ringBuffer, 1.0, 0);
+
+    @Test
+    void publishesCompletedRequestWithStatus() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/hello"), new MockHttpServletResponse(),
+                new MockFilterChain(new HttpServlet() {
+                    @Override
+                    protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                        resp.setStatus(HttpServletResponse.SC_CREATED);
+                    }
+                }));
+
+        Trace trace = ringBuffer.snapshot(1, 0).get(0);
+        assertThat(trace.getStatus()).isEqualTo(HttpServletResponse.SC_CREATED);
+        assertThat(trace.isPartial()).isFalse();
+        assertThat(trace.getSpans()).extracting(Trace.Span::getName).containsExactly("filter-chain");
+    }
+
+    @Test
+    void marksAsyncRequestAsPartial() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/async");
+        request.setAsyncSupported(true);
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                req.startAsync();
+            }
+        }));
+
+        Trace trace = ringBuffer.snapshot(1, 0).get(0);
+        assertThat(trace.isPartial()).isTrue();
+        assertThat(trace.getStatus()).isZero();
+    }
+}
@@ -0,0 +1,134 @@
+package hello.springmvc.tuning;
+
+import org.apache.coyote.http11.Http11NioProtocol;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WorkerPoolTunerTest {
+
+    InstrumentedTomcatExecutor executor = new InstrumentedTomcatExecutor(2, 20);
+    WorkerPoolTuner tuner = new WorkerPoolTuner(executor, new HandlerLatencyInterceptor(),
+            2, 40, 5, 0.9, 1000, 10);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void reportsBoundAcceptCountWithoutChangingIt() {
+        Http11NioProtocol protocol = new Http11NioProtocol();
+        protocol.setAcceptCount(150);
+        tuner.bind(protocol);
+
+        tuner.tick();
+        tuner.tick();
+
+        WorkerPoolStatus status = tuner.status();
+        assertThat(protocol.getAcceptCount()).isEqualTo(150);
+        assertThat(status.getAcceptCount()).isEqualTo(150);
+        assertThat(status.getHistory()).hasSize(2);
+    }
+
+    @Test
+    void shrinksIdlePoolWithinBounds() {
+        for (int i = 0; i < 50; i++) {
+            tuner.tick();
+        }
+
+        assertThat(executor.getMaximumPoolSize()).isEqualTo(2);
+        assertThat(tuner.status().getHistory()).hasSize(10).last()
+                .extracting(WorkerPoolSample::getAction).isEqualTo("hold");
+    }
+
+    @Test
+    void growsByTenPercentWhenCongestedAndSaturated() {
+        congestedTick(1000, 0.5);
+
+        assertThat(executor.getMaximumPoolSize()).isEqualTo(22);
+        assertThat(lastAction()).isEqualTo("grow");
+    }
+
+    @Test
+    void revertsWhenThroughputGainIsUnderFivePercent() {
+        congestedTick(1000, 0.5);
+        congestedTick(1040, 0.5);
+
+        assertThat(executor.getMaximumPoolSize()).isEqualTo(20);
+        assertThat(lastAction()).isEqualTo("revert: no throughput gain");
+    }
+
+    @Test
+    void keepsGrowingWhileThroughputGainIsAtLeastFivePercent() {
+        congestedTick(1000, 0.5);
+        congestedTick(1050, 0.5);
+
+        assertThat(executor.getMaximumPoolSize()).isEqualTo(24);
+        assertThat(lastAction()).isEqualTo("grow");
+    }
+
+    @Test
+    void holdsPlateauForTwelveTicksAfterRevert() {
+        congestedTick(1000, 0.5);
+        congestedTick(1000, 0.5);
+
+        for (int i = 0; i < 12; i++) {
+            congestedTick(1000, 0.5);
+            assertThat(executor.getMaximumPoolSize()).isEqualTo(20);
+            assertThat(lastAction()).isEqualTo("hold: throughput plateau");
+        }
+
+        congestedTick(1000, 0.5);
+        assertThat(executor.getMaximumPoolSize()).isEqualTo(22);
+        assertThat(lastAction()).isEqualTo("grow");
+    }
+
+    @Test
+    void holdsAtCpuCeiling() {
+        congestedTick(1000, 0.9);
+        congestedTick(1000, 0.95);
+
+        assertThat(executor.getMaximumPoolSize()).isEqualTo(20);
+        assertThat(lastAction()).isEqualTo("hold: cpu saturated");
+    }
+
+    /**
+     * 스레드 수가 knee(20)까지는 처리량이 스레드 수에 비례하고 그 이상은 늘지 않는 부하에서
+     * 10개부터 시작해 knee까지 늘리고, 그 이후에는 plateau 확인을 위해 잠깐 늘렸다가 되돌리는 것 외에는 knee에 머물러야 함
+     */
+    @Test
+    void settlesAtKneeOfSyntheticLoadCurve() {
+        int knee = 20;
+        WorkerPoolTuner curveTuner = new WorkerPoolTuner(executor, new HandlerLatencyInterceptor(),
+                2, 40, 5, 0.9, 1000, 200);
+        executor.setMaximumPoolSize(10);
+
+        List<Integer> sizes = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            int current = executor.getMaximumPoolSize();
+            curveTuner.tick(10, Math.min(current, knee) * 50.0, current, 5, 0.5, Collections.emptyMap());
+            sizes.add(executor.getMaximumPoolSize());
+        }
+
+        List<Integer> settled = sizes.subList(100, 200);
+        assertThat(sizes.indexOf(knee)).isBetween(1, 20);
+        assertThat(settled).allSatisfy(size -> assertThat(size).isBetween(knee, knee + 2));
+        assertThat(settled.stream().filter(size -> size == knee).count()).isGreaterThanOrEqualTo(90);
+    }
+
+    void congestedTick(double throughput, double cpuLoad) {
+        int current = executor.getMaximumPoolSize();
+        tuner.tick(10, throughput, current, 5, cpuLoad, Collections.emptyMap());
+    }
+
+    String lastAction() {
+        List<WorkerPoolSample> history = tuner.status().getHistory();
+        return history.get(history.size() - 1).getAction();
+    }
+}
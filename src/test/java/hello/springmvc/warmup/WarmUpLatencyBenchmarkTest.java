@@ -0,0 +1,253 @@
+package hello.springmvc.warmup;
+
+import com.sun.net.httpserver.HttpServer;
+import hello.springmvc.SpringmvcApplication;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.TypeExcludeFilter;
+import org.springframework.boot.test.context.TestComponent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.core.type.classreading.MetadataReader;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 시작 직후 첫 1000개 요청의 지연 시간(p50, p99, 최대)을 웜업(hello.warmup.enabled) 사용 여부별로 비교
+ * - 서버는 매번 새 JVM(운영 프로파일)으로 띄워서 JIT, 클래스 로딩 상태가 섞이지 않게 하고, 웜업 러너가 끝난 후(SpringApplication.run 반환)부터 측정
+ * - WarmUpRunner와 같은 핸들러 8개를 순서대로 하나씩(동시 요청 없이) 호출
+ * - 클라이언트(HttpURLConnection) 쪽 초기화 비용이 섞이지 않도록 측정 전에 로컬 HttpServer로 클라이언트를 먼저 웜업
+ * - 웜업 끔/켬을 번갈아 ROUNDS번씩 측정하고 모드별로 합쳐서 비교
+ * 실행 : ./gradlew benchmark (일반 test 태스크에서는 제외)
+ */
+@Slf4j
+@Tag("benchmark")
+class WarmUpLatencyBenchmarkTest {
+
+    static final int REQUESTS = 1000;
+    static final int ROUNDS = 2;
+    static final long STARTUP_TIMEOUT_MS = 180_000;
+    static final String JSON = "{\"username\":\"kim\",\"age\":20}";
+
+    static final List<Request> REQUEST_CYCLE = Arrays.asList(
+            new Request("POST", "/request-body-json-v1", JSON),
+            new Request("POST", "/request-body-json-v3", JSON),
+            new Request("POST", "/request-body-json-v5", JSON),
+            new Request("GET", "/request-param-v2?username=kim&age=20", null),
+            new Request("GET", "/model-attribute-v2?username=kim&age=20", null),
+            new Request("GET", "/response-body-json-v2", null),
+            new Request("GET", "/response-view-v2", null),
+            new Request("GET", "/mapping/users/1", null));
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void firstRequestsWithAndWithoutWarmUp() throws Exception {
+        warmUpClient();
+
+        List<Long> off = new ArrayList<>();
+        List<Long> on = new ArrayList<>();
+        for (int round = 0; round < ROUNDS; round++) {
+            List<Long> offRound = measure(false, round);
+            List<Long> onRound = measure(true, round);
+            log.info("round {} warm-up off : {}", round, summary(offRound));
+            log.info("round {} warm-up on  : {}", round, summary(onRound));
+            off.addAll(offRound);
+            on.addAll(onRound);
+        }
+
+        log.info("first {} requests x {} rounds, sequential, prod profile", REQUESTS, ROUNDS);
+        log.info("warm-up off : {}", summary(off));
+        log.info("warm-up on  : {}", summary(on));
+        assertThat(percentile(on, 0.99)).isLessThan(percentile(off, 0.99));
+    }
+
+    List<Long> measure(boolean warmUp, int round) throws Exception {
+        Path portFile = tempDir.resolve("port-" + warmUp + "-" + round);
+        Path logFile = tempDir.resolve("server-" + warmUp + "-" + round + ".log");
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        Process server = new ProcessBuilder(java, "-Xmx512m", "-cp", System.getProperty("java.class.path"),
+                Server.class.getName(), portFile.toString(),
+                "--server.port=0",
+                "--spring.profiles.active=prod",
+                "--hello.tracing.sample-rate=0",
+                "--hello.warmup.enabled=" + warmUp)
+                .redirectErrorStream(true)
+                .redirectOutput(logFile.toFile())
+                .start();
+        try {
+            int port = awaitPort(server, portFile, logFile);
+            List<Long> nanos = new ArrayList<>(REQUESTS);
+            for (int i = 0; i < REQUESTS; i++) {
+                Request request = REQUEST_CYCLE.get(i % REQUEST_CYCLE.size());
+                long start = System.nanoTime();
+                int status = request.send("http://localhost:" + port);
+                nanos.add(System.nanoTime() - start);
+                assertThat(status).as("%s %s", request.method, request.path).isEqualTo(200);
+            }
+            return nanos;
+        } finally {
+            server.destroy();
+            if (!server.waitFor(30, TimeUnit.SECONDS)) {
+                server.destroyForcibly();
+            }
+        }
+    }
+
+    int awaitPort(Process server, Path portFile, Path logFile) throws Exception {
+        long deadline = System.currentTimeMillis() + STARTUP_TIMEOUT_MS;
+        while (!Files.exists(portFile)) {
+            if (!server.isAlive() || System.currentTimeMillis() > deadline) {
+                throw new IllegalStateException("server did not start\n"
+                        + new String(Files.readAllBytes(logFile), StandardCharsets.UTF_8));
+            }
+            Thread.sleep(50);
+        }
+        return Integer.parseInt(new String(Files.readAllBytes(portFile), StandardCharsets.UTF_8).trim());
+    }
+
+    /**
+     * 측정할 서버와 관계없는 로컬 HttpServer로 같은 요청을 보내서 클라이언트 쪽 클래스 로딩, JIT를 미리 끝냄
+     */
+    void warmUpClient() throws IOException {
+        HttpServer httpServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        httpServer.createContext("/", exchange -> {
+            try (InputStream in = exchange.getRequestBody()) {
+                readAll(in);
+            }
+            byte[] body = JSON.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        httpServer.start();
+        try {
+            String baseUrl = "http://localhost:" + httpServer.getAddress().getPort();
+            for (int i = 0; i < 5_000; i++) {
+                REQUEST_CYCLE.get(i % REQUEST_CYCLE.size()).send(baseUrl);
+            }
+        } finally {
+            httpServer.stop(0);
+        }
+    }
+
+    static String summary(List<Long> nanos) {
+        return String.format("p50 = %.2f ms, p99 = %.2f ms, max = %.2f ms, total = %.0f ms",
+                percentile(nanos, 0.5) / 1e6, percentile(nanos, 0.99) / 1e6, percentile(nanos, 1.0) / 1e6,
+                nanos.stream().mapToLong(Long::longValue).sum() / 1e6);
+    }
+
+    static long percentile(List<Long> nanos, double p) {
+        List<Long> sorted = new ArrayList<>(nanos);
+        Collections.sort(sorted);
+        return sorted.get(Math.min(sorted.size() - 1, (int) (sorted.size() * p)));
+    }
+
+    static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int length;
+        while ((length = in.read(buffer)) != -1) {
+            out.write(buffer, 0, length);
+        }
+        return out.toByteArray();
+    }
+
+    static final class Request {
+
+        private final String method;
+        private final String path;
+        private final String json;
+
+        Request(String method, String path, String json) {
+            this.method = method;
+            this.path = path;
+            this.json = json;
+        }
+
+        int send(String baseUrl) throws IOException {
+            HttpURLConnection connection = (HttpURLConnection) new URL(baseUrl + path).openConnection();
+            connection.setRequestMethod(method);
+            if (json != null) {
+                connection.setDoOutput(true);
+                connection.setRequestProperty("Content-Type", "application/json");
+                try (OutputStream out = connection.getOutputStream()) {
+                    out.write(json.getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            int status = connection.getResponseCode();
+            try (InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+                if (in != null) {
+                    readAll(in);
+                }
+            }
+            return status;
+        }
+    }
+
+    /**
+     * 측정 대상 서버(별도 JVM) 진입점
+     * 테스트 클래스 경로를 그대로 사용하므로 다른 테스트의 @TestConfiguration이 컴포넌트 스캔에 포함되지 않도록 제외하고,
+     * 웜업 러너까지 끝난 후 포트를 파일로 알림(임시 파일에 쓰고 이동해서 읽는 쪽이 쓰는 중인 파일을 보지 않게 함)
+     */
+    public static final class Server {
+
+        public static void main(String[] args) throws IOException {
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(SpringmvcApplication.class)
+                    .initializers(applicationContext -> applicationContext.getBeanFactory()
+                            .registerSingleton("testComponentExcludeFilter", new TestComponentExcludeFilter()))
+                    .run(Arrays.copyOfRange(args, 1, args.length));
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+
+            Path portFile = Paths.get(args[0]);
+            Path tempFile = Files.createTempFile(portFile.getParent(), "port", ".tmp");
+            Files.write(tempFile, String.valueOf(port).getBytes(StandardCharsets.UTF_8));
+            Files.move(tempFile, portFile, StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+
+    static final class TestComponentExcludeFilter extends TypeExcludeFilter {
+
+        @Override
+        public boolean match(MetadataReader metadataReader, MetadataReaderFactory metadataReaderFactory) {
+            AnnotationMetadata metadata = metadataReader.getAnnotationMetadata();
+            return metadata.hasAnnotation(TestComponent.class.getName())
+                    || metadata.hasMetaAnnotation(TestComponent.class.getName());
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj != null && getClass() == obj.getClass();
+        }
+
+        @Override
+        public int hashCode() {
+            return getClass().hashCode();
+        }
+    }
+}
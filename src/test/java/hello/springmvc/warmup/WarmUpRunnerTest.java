@@ -0,0 +1,132 @@
+package hello.springmvc.warmup;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import hello.springmvc.basic.request.RequestParamController;
+import hello.springmvc.tracing.Trace;
+import hello.springmvc.tracing.TraceRingBuffer;
+import hello.springmvc.tuning.HandlerLatencyInterceptor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "server.servlet.context-path=/app",
+        "hello.warmup.codec-iterations=10",
+        "hello.warmup.request-iterations=3",
+        "hello.tracing.sample-rate=1.0",
+        "hello.worker-pool.interval-ms=600000"
+})
+class WarmUpRunnerTest {
+
+    static final String PATH = "/request-param-v2?username=test&age=20";
+
+    @Autowired
+    TestRestTemplate restTemplate;
+
+    @Autowired
+    TraceRingBuffer traceRingBuffer;
+
+    @Autowired
+    WarmUpRunner warmUpRunner;
+
+    Logger handlerLogger = ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(RequestParamController.class);
+    ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void setUp() {
+        appender.start();
+        handlerLogger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        handlerLogger.detachAppender(appender);
+    }
+
+    /**
+     * context-path를 포함한 URL로 요청을 보내기 때문에 모든 경로가 성공(4xx, 5xx면 WARN 로그)하고, 핸들러의 INFO 로그는 출력되지 않음.
+     */
+    @Test
+    void warmUpReachesHandlersUnderContextPathQuietly() {
+        Logger runnerLogger = ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(WarmUpRunner.class);
+        ListAppender<ILoggingEvent> runnerAppender = new ListAppender<>();
+        runnerAppender.start();
+        runnerLogger.addAppender(runnerAppender);
+        try {
+            warmUpRunner.run(null);
+        } finally {
+            runnerLogger.detachAppender(runnerAppender);
+        }
+
+        assertThat(runnerAppender.list).extracting(ILoggingEvent::getLevel).doesNotContain(Level.WARN);
+        assertThat(runnerAppender.list).extracting(ILoggingEvent::getFormattedMessage)
+                .anyMatch(message -> message.startsWith("handler warm-up finished"));
+        assertThat(appender.list).isEmpty();
+    }
+
+    @Test
+    void startupWarmUpRequestsAreNotTraced() {
+        assertThat(traceRingBuffer.snapshot(Integer.MAX_VALUE, 0)).extracting(Trace::getUri)
+                .doesNotContain("/app/request-body-json-v1", "/app/response-view-v2", "/app/mapping/users/1");
+    }
+
+    @Test
+    void warmUpRequestSkipsTracingAndInfoLogs() throws InterruptedException {
+        HttpHeaders warmUpHeaders = new HttpHeaders();
+        warmUpHeaders.set(WarmUp.HEADER_NAME, WarmUp.token());
+        HttpHeaders forgedHeaders = new HttpHeaders();
+        forgedHeaders.set(WarmUp.HEADER_NAME, "true");
+        int before = traces("/app/request-param-v2").size();
+
+        ResponseEntity<String> warmUp = restTemplate.exchange(PATH, HttpMethod.GET, new HttpEntity<>(warmUpHeaders), String.class);
+        restTemplate.exchange(PATH, HttpMethod.GET, new HttpEntity<>(forgedHeaders), String.class);
+
+        // 추적 결과는 응답을 보낸 후에 저장되므로 두 번째(일반) 요청의 추적 결과가 저장될 때까지 기다림
+        for (int i = 0; i < 100 && traces("/app/request-param-v2").size() == before; i++) {
+            Thread.sleep(20);
+        }
+        assertThat(warmUp.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(traces("/app/request-param-v2")).hasSize(before + 1);
+        assertThat(appender.list).hasSize(1);
+    }
+
+    @Test
+    void handlerLatencyInterceptorSkipsWarmUpRequest() {
+        HandlerLatencyInterceptor interceptor = new HandlerLatencyInterceptor();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/request-param-v2");
+        request.addHeader(WarmUp.HEADER_NAME, WarmUp.token());
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/request-param-v2");
+
+        interceptor.preHandle(request, new MockHttpServletResponse(), new Object());
+        interceptor.afterCompletion(request, new MockHttpServletResponse(), new Object(), null);
+
+        assertThat(interceptor.drain()).isEmpty();
+    }
+
+    List<Trace> traces(String uri) {
+        return traceRingBuffer.snapshot(Integer.MAX_VALUE, 0).stream()
+                .filter(trace -> trace.getUri().equals(uri))
+                .collect(Collectors.toList());
+    }
+}